@@ -31,6 +31,13 @@ interface TmdbResponse {
   results?: TmdbMovie[];
 }
 
+interface FeedResponse {
+  popular: TmdbResponse | null;
+  nowPlaying: TmdbResponse | null;
+  trending: TmdbResponse | null;
+  indisponiveis: string[];
+}
+
 const formatMovies = (movies: TmdbMovie[]): Movie[] =>
   movies.slice(0, 10).map((movie) => ({
     id: movie.id,
@@ -58,21 +65,13 @@ const DashboardPage = () => {
   const fetchAllMovies = useCallback(async () => {
     setLoading(true);
     try {
-      const [popularRes, nowPlayingRes, trendingRes] = await Promise.all([
-        fetch("http://localhost:8081/api/filmes/popular?page=1"),
-        fetch("http://localhost:8081/api/filmes/now-playing?page=1"),
-        fetch("http://localhost:8081/api/filmes/trending?page=1")
-      ]);
-
-      const [popularData, nowPlayingData, trendingData]: TmdbResponse[] = await Promise.all([
-        popularRes.json(),
-        nowPlayingRes.json(),
-        trendingRes.json()
-      ]);
-
-      const popular = formatMovies(popularData.results ?? []);
-      const nowPlaying = formatMovies(nowPlayingData.results ?? []);
-      const trending = formatMovies(trendingData.results ?? []);
+      // Uma única requisição traz as três fontes; fontes lentas vêm nulas
+      const feedRes = await fetch("http://localhost:8081/api/filmes/feed?page=1");
+      const feed: FeedResponse = await feedRes.json();
+
+      const popular = formatMovies(feed.popular?.results ?? []);
+      const nowPlaying = formatMovies(feed.nowPlaying?.results ?? []);
+      const trending = formatMovies(feed.trending?.results ?? []);
 
       // Salvar no cache global
       dashboardCache = { popular, nowPlaying, trending };
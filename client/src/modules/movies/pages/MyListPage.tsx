@@ -9,6 +9,7 @@ import { supabase } from "@/integrations/supabase/client";
 import { ListaSupabaseService, LIST_STATUS } from "@/services/ListaSupabaseService";
 import type { Database } from "@/integrations/supabase/types";
 import { toFiveStarScale } from "@/utils/rating";
+import { fetchMovieDetailsBatch } from "../utils/movieCache";
 import {
   AlertDialog,
   AlertDialogAction,
@@ -78,27 +79,18 @@ const MyListPage = () => {
         listasSupabase.map(async (lista) => {
           const movieIds = await ListaSupabaseService.buscarFilmesDaLista(lista.id);
           
-          // Buscar detalhes dos filmes através do backend Java
-          const filmes = await Promise.all(
-            movieIds.map(async (movieId) => {
-              try {
-                const response = await fetch(
-                  `http://localhost:8081/api/filmes/${movieId}`
-                );
-                if (response.ok) {
-                  return await response.json();
-                }
-              } catch (error) {
-                console.error(`❌ Erro ao buscar filme ${movieId}:`, error);
-              }
-              return null;
-            })
-          );
+          // Buscar detalhes dos filmes através do backend Java, em uma única requisição
+          let filmes: FilmeDetalhes[] = [];
+          try {
+            filmes = movieIds.length > 0 ? await fetchMovieDetailsBatch(movieIds) : [];
+          } catch (error) {
+            console.error(`❌ Erro ao buscar filmes da lista ${lista.id}:`, error);
+          }
 
           return {
             ...lista,
             movieIds,
-            filmes: filmes.filter(Boolean) as FilmeDetalhes[]
+            filmes
           };
         })
       );
@@ -28,6 +28,11 @@ interface TmdbResponse {
   results?: TmdbMovie[];
 }
 
+interface Suggestion {
+  id: number;
+  title: string;
+}
+
 const mapTmdbToMovie = (movie: TmdbMovie): Movie => ({
   id: movie.id,
   title: movie.title,
@@ -48,8 +53,42 @@ const SearchPage = () => {
   const [loading, setLoading] = useState(false);
   const [loadingSuggestions, setLoadingSuggestions] = useState(false);
   const [searched, setSearched] = useState(false);
+  const [typeahead, setTypeahead] = useState<Suggestion[]>([]);
   const abortControllerRef = useRef<AbortController | null>(null);
 
+  // Autocompletar: títulos sugeridos pelo servidor a cada tecla (resposta local, sem TMDB)
+  useEffect(() => {
+    const prefix = searchTerm.trim();
+    if (!prefix) {
+      setTypeahead([]);
+      return;
+    }
+
+    const controller = new AbortController();
+    const timer = setTimeout(async () => {
+      try {
+        const response = await fetch(
+          `http://localhost:8081/api/filmes/suggest?prefix=${encodeURIComponent(prefix)}&limit=8`,
+          { signal: controller.signal }
+        );
+        if (!response.ok) {
+          setTypeahead([]);
+          return;
+        }
+        setTypeahead(await response.json());
+      } catch (error) {
+        if (!(error instanceof Error && error.name === 'AbortError')) {
+          console.error("Erro ao buscar sugestões de título:", error);
+        }
+      }
+    }, 100);
+
+    return () => {
+      clearTimeout(timer);
+      controller.abort();
+    };
+  }, [searchTerm]);
+
   useEffect(() => {
     // Carregar sugestões do cache se existir
     if (suggestionsCache) {
@@ -62,7 +101,7 @@ const SearchPage = () => {
 
   const loadSuggestions = async () => {
     try {
-      const response = await fetch("http://localhost:8081/api/filmes/trending?page=1");
+      const response = await fetch("http://localhost:8081/api/filmes/trending?page=1&projection=compact");
       const data: TmdbResponse = await response.json();
       
       const formattedMovies: Movie[] = (data.results ?? []).slice(0, 10).map(mapTmdbToMovie);
@@ -115,7 +154,7 @@ const SearchPage = () => {
 
     try {
       const response = await fetch(
-        `http://localhost:8081/api/filmes/search?query=${encodeURIComponent(trimmedTerm)}&page=1`,
+        `http://localhost:8081/api/filmes/search?query=${encodeURIComponent(trimmedTerm)}&page=1&projection=compact`,
         { signal: abortControllerRef.current.signal }
       );
       const data: TmdbResponse = await response.json();
@@ -157,7 +196,13 @@ const SearchPage = () => {
             onChange={(e) => setSearchTerm(e.target.value)}
             onKeyPress={handleKeyPress}
             className="flex-1"
+            list="search-typeahead"
           />
+          <datalist id="search-typeahead">
+            {typeahead.map((suggestion) => (
+              <option key={suggestion.id} value={suggestion.title} />
+            ))}
+          </datalist>
           <Button
             onClick={handleSearch}
             disabled={loading}
@@ -63,6 +63,33 @@ export const prefetchMovieDetails = async (movieId: number): Promise<MovieDetail
   return promise;
 };
 
+interface MovieDetailsBatchResponse {
+  filmes: MovieDetailsData[];
+  falhas: { tmdbId: number; status: number; erro: string }[];
+}
+
+export const fetchMovieDetailsBatch = async (movieIds: number[]): Promise<MovieDetailsData[]> => {
+  const missing = movieIds.filter((movieId) => !movieDetailsCache.has(toKey(movieId)));
+
+  if (missing.length > 0) {
+    const response = await fetch(`${BACKEND_URL}/api/filmes/batch`, {
+      method: "POST",
+      headers: { "Content-Type": "application/json" },
+      body: JSON.stringify({ ids: missing }),
+    });
+    if (!response.ok) {
+      throw new Error("Falha ao carregar detalhes dos filmes");
+    }
+
+    const data: MovieDetailsBatchResponse = await response.json();
+    data.filmes.forEach((filme) => movieDetailsCache.set(toKey(filme.id), filme));
+  }
+
+  return movieIds
+    .map((movieId) => movieDetailsCache.get(toKey(movieId)))
+    .filter((filme): filme is MovieDetailsData => Boolean(filme));
+};
+
 export const prefetchMovieReviews = async (movieId: number): Promise<MovieReview[]> => {
   const key = toKey(movieId);
   if (movieReviewsCache.has(key)) {
@@ -83,8 +83,8 @@ const AllMovies = () => {
     try {
       const endpoint =
         selectedGenre === "all"
-          ? `http://localhost:8081/api/filmes/popular?page=${page}`
-          : `http://localhost:8081/api/filmes/genre/${selectedGenre}?page=${page}`;
+          ? `http://localhost:8081/api/filmes/popular?page=${page}&projection=compact`
+          : `http://localhost:8081/api/filmes/genre/${selectedGenre}?page=${page}&projection=compact`;
 
       const response = await fetch(endpoint);
       const data: TmdbResponse = await response.json();
@@ -136,7 +136,7 @@ const AllMovies = () => {
 
     try {
       const response = await fetch(
-        `http://localhost:8081/api/filmes/search?query=${encodeURIComponent(term)}&page=1`
+        `http://localhost:8081/api/filmes/search?query=${encodeURIComponent(term)}&page=1&projection=compact`
       );
       const data: TmdbResponse = await response.json();
 
@@ -72,7 +72,7 @@ const GenrePage = () => {
     setLoading(true);
     try {
       const response = await fetch(
-        `http://localhost:8081/api/filmes/genre/${genreId}?page=${page}`
+        `http://localhost:8081/api/filmes/genre/${genreId}?page=${page}&projection=compact`
       );
       const data: TmdbResponse = await response.json();
 
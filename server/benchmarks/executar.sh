@@ -0,0 +1,26 @@
+#!/bin/bash
+# Executa os benchmarks JMH com o profiler de GC e compara com a baseline salva.
+#
+#   ./executar.sh                     todos os benchmarks
+#   ./executar.sh ListaService        só os que casam com a expressão
+#   SALVAR_BASELINE=1 ./executar.sh   grava o resultado como nova baseline
+#
+# Argumentos extras vão para o JMH (ex.: -f 2 -t 4).
+set -e
+cd "$(dirname "$0")"
+
+mvn -B -q -f ../pom.xml install -DskipTests
+mvn -B -q package -DskipTests
+
+mkdir -p resultados
+RESULTADO="resultados/$(date +%Y%m%d-%H%M%S).json"
+java -jar target/benchmarks.jar -prof gc -rf json -rff "$RESULTADO" "$@"
+
+BASELINE=baselines/baseline.json
+if [ "$SALVAR_BASELINE" = "1" ]; then
+  mkdir -p baselines
+  cp "$RESULTADO" "$BASELINE"
+  echo "Baseline atualizada: $BASELINE"
+elif [ -f "$BASELINE" ]; then
+  java -cp target/benchmarks.jar com.filmesapi.benchmarks.CompararResultados "$BASELINE" "$RESULTADO" "${TOLERANCIA:-10}"
+fi
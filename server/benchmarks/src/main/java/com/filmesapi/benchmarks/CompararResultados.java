@@ -0,0 +1,120 @@
+package com.filmesapi.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compara dois resultados do JMH em JSON (-rf json) e aponta regressões de
+ * vazão e de alocação por operação (gc.alloc.rate.norm, do -prof gc).
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.filmesapi.benchmarks.CompararResultados \
+ *     baselines/baseline.json target/resultado.json [tolerancia-percentual]
+ * </pre>
+ *
+ * Termina com código 1 quando algum benchmark piora além da tolerância
+ * (padrão de 10%).
+ */
+public final class CompararResultados {
+
+    private static final String ALOCACAO = "gc.alloc.rate.norm";
+
+    private CompararResultados() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: CompararResultados <baseline.json> <resultado.json> [tolerancia-percentual]");
+            System.exit(2);
+        }
+        double tolerancia = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Medida> baseline = ler(Path.of(args[0]));
+        Map<String, Medida> atual = ler(Path.of(args[1]));
+
+        int regressoes = 0;
+        System.out.printf("%-70s %14s %14s %8s %12s %12s %8s%n",
+                "Benchmark", "Baseline", "Atual", "Δ", "B/op base", "B/op atual", "Δ");
+        for (Map.Entry<String, Medida> entrada : atual.entrySet()) {
+            Medida antes = baseline.get(entrada.getKey());
+            Medida depois = entrada.getValue();
+            if (antes == null) {
+                System.out.printf("%-70s %14s %14.1f%n", entrada.getKey(), "(novo)", depois.score);
+                continue;
+            }
+            double variacao = percentual(antes.score, depois.score);
+            double variacaoAlocacao = percentual(antes.alocacao, depois.alocacao);
+            // Vazão menor ou tempo maior é pior, conforme a unidade do benchmark
+            boolean piorou = depois.vazao ? variacao < -tolerancia : variacao > tolerancia;
+            boolean alocouMais = variacaoAlocacao > tolerancia;
+            if (piorou || alocouMais) {
+                regressoes++;
+            }
+            System.out.printf("%-70s %14.1f %14.1f %+7.1f%% %12.1f %12.1f %+7.1f%%%s%n",
+                    entrada.getKey(), antes.score, depois.score, variacao,
+                    antes.alocacao, depois.alocacao, variacaoAlocacao,
+                    piorou || alocouMais ? "  << REGRESSÃO" : "");
+        }
+        for (String removido : baseline.keySet()) {
+            if (!atual.containsKey(removido)) {
+                System.out.printf("%-70s (ausente no resultado atual)%n", removido);
+            }
+        }
+
+        if (regressoes > 0) {
+            System.out.printf("%n%d benchmark(s) piores que a baseline além de %.0f%%%n", regressoes, tolerancia);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Medida> ler(Path arquivo) throws IOException {
+        Map<String, Medida> medidas = new TreeMap<>();
+        for (JsonNode resultado : new ObjectMapper().readTree(arquivo.toFile())) {
+            JsonNode primaria = resultado.path("primaryMetric");
+            Medida medida = new Medida();
+            medida.score = primaria.path("score").asDouble();
+            medida.vazao = primaria.path("scoreUnit").asText().startsWith("ops/");
+            medida.alocacao = alocacao(resultado.path("secondaryMetrics"));
+            medidas.put(chave(resultado), medida);
+        }
+        return medidas;
+    }
+
+    // Versões antigas do JMH prefixam as métricas do profiler com "·"
+    private static double alocacao(JsonNode secundarias) {
+        for (Map.Entry<String, JsonNode> campo : secundarias.properties()) {
+            if (campo.getKey().replace("·", "").equals(ALOCACAO)) {
+                return campo.getValue().path("score").asDouble();
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static String chave(JsonNode resultado) {
+        String nome = resultado.path("benchmark").asText();
+        nome = nome.substring(nome.lastIndexOf('.', nome.lastIndexOf('.') - 1) + 1);
+        Map<String, String> params = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> param : resultado.path("params").properties()) {
+            params.put(param.getKey(), param.getValue().asText());
+        }
+        return params.isEmpty() ? nome : nome + params;
+    }
+
+    private static double percentual(double antes, double depois) {
+        if (Double.isNaN(antes) || Double.isNaN(depois) || antes == 0) {
+            return 0;
+        }
+        return (depois - antes) / antes * 100;
+    }
+
+    private static final class Medida {
+        private double score;
+        private boolean vazao;
+        private double alocacao = Double.NaN;
+    }
+}
@@ -0,0 +1,119 @@
+package com.filmesapi.benchmarks;
+
+import com.filmesapi.modules.auth.model.Usuario;
+import com.filmesapi.modules.dashboard.model.Lista;
+import com.filmesapi.modules.dashboard.model.ListaFilme;
+import com.filmesapi.modules.filmes.dto.TMDBMovieSummaryDTO;
+import com.filmesapi.modules.filmes.dto.TMDBPageDTO;
+import com.filmesapi.modules.reviews.model.Review;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entidades e payloads com tamanho e formato próximos dos reais, gerados de
+ * forma determinística para que as execuções sejam comparáveis.
+ */
+public final class Dados {
+
+    private static final LocalDateTime DATA = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+    private Dados() {
+    }
+
+    public static Lista lista(int filmes) {
+        Lista lista = new Lista();
+        lista.setId(1L);
+        lista.setNome("Favoritos");
+        lista.setDescricao("Filmes para rever");
+        lista.setUsuarioId(1L);
+        lista.setDataCriacao(DATA);
+        lista.setDataAtualizacao(DATA);
+        List<ListaFilme> itens = new ArrayList<>(filmes);
+        for (int i = 0; i < filmes; i++) {
+            itens.add(filme(lista, i));
+        }
+        lista.setFilmes(itens);
+        return lista;
+    }
+
+    public static ListaFilme filme(Lista lista, int i) {
+        ListaFilme filme = new ListaFilme();
+        filme.setId((long) i + 1);
+        filme.setLista(lista);
+        filme.setTmdbId(550L + i);
+        filme.setTitulo("Filme número " + i);
+        filme.setPosterPath("/poster" + i + ".jpg");
+        filme.setAnoLancamento(String.valueOf(1980 + i % 45));
+        filme.setNota(5.0 + (i % 50) / 10.0);
+        filme.setGeneros("18,53");
+        filme.setDataAdicao(DATA.plusMinutes(i));
+        return filme;
+    }
+
+    public static List<Review> reviews(int quantidade) {
+        List<Review> reviews = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Usuario usuario = new Usuario();
+            usuario.setId((long) i + 1);
+            usuario.setNome("Usuário " + i);
+            usuario.setEmail("usuario" + i + "@exemplo.com");
+            usuario.setAvatarUrl("https://exemplo.com/avatar/" + i + ".png");
+
+            Review review = new Review();
+            review.id = (long) i + 1;
+            review.usuario = usuario;
+            review.tmdbId = 550L;
+            review.tituloFilme = "Clube da Luta";
+            review.nota = 1.0 + i % 10 / 2.0;
+            review.comentario = "Comentário da review " + i + ", com algumas frases sobre o filme.";
+            review.dataCriacao = DATA.plusMinutes(i);
+            review.dataAtualizacao = DATA.plusMinutes(i);
+            reviews.add(review);
+        }
+        return reviews;
+    }
+
+    public static TMDBPageDTO pagina() {
+        List<TMDBMovieSummaryDTO> resultados = new ArrayList<>(20);
+        for (int i = 0; i < 20; i++) {
+            TMDBMovieSummaryDTO filme = new TMDBMovieSummaryDTO();
+            filme.setId(550L + i);
+            filme.setTitle("Filme número " + i);
+            filme.setOriginalTitle("Movie number " + i);
+            filme.setPosterPath("/poster" + i + ".jpg");
+            filme.setBackdropPath("/backdrop" + i + ".jpg");
+            filme.setReleaseDate("1999-10-" + (10 + i));
+            filme.setVoteAverage(8.4);
+            filme.setPopularity(61.4 + i);
+            filme.setGenreIds(List.of(18, 53, 35));
+            resultados.add(filme);
+        }
+        return new TMDBPageDTO(1, 500, 10000, resultados);
+    }
+
+    /**
+     * Página no formato devolvido pelo TMDB, com os campos que a API ignora.
+     */
+    public static byte[] paginaTmdb() {
+        StringBuilder json = new StringBuilder("{\"page\":1,\"results\":[");
+        for (int i = 0; i < 20; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"adult\":false,\"backdrop_path\":\"/backdrop").append(i).append(".jpg\",")
+                    .append("\"genre_ids\":[18,53,35],\"id\":").append(550 + i).append(',')
+                    .append("\"original_language\":\"en\",\"original_title\":\"Movie number ").append(i).append("\",")
+                    .append("\"overview\":\"Um funcionário de escritório insone e um vendedor de sabão formam um clube de luta clandestino.\",")
+                    .append("\"popularity\":").append(61.4 + i).append(',')
+                    .append("\"poster_path\":\"/poster").append(i).append(".jpg\",")
+                    .append("\"release_date\":\"1999-10-").append(10 + i).append("\",")
+                    .append("\"title\":\"Filme número ").append(i).append("\",")
+                    .append("\"video\":false,\"vote_average\":8.4,\"vote_count\":").append(30000 + i).append('}');
+        }
+        json.append("],\"total_pages\":500,\"total_results\":10000}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
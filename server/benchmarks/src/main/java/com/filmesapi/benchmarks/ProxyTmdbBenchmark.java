@@ -0,0 +1,119 @@
+package com.filmesapi.benchmarks;
+
+import com.filmesapi.Application;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho completo de uma requisição de filmes: Tomcat, controller,
+ * TMDBService e, sem cache, o WebClient até um TMDB falso local que responde
+ * na hora. Mede o custo do servidor, não a latência do TMDB.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProxyTmdbBenchmark {
+
+    // Ids distintos por iteração: com cache, todos viram acerto depois do aquecimento
+    private static final int FILMES = 500;
+
+    @Param({"true", "false"})
+    private boolean cache;
+
+    private HttpServer tmdb;
+    private ConfigurableApplicationContext aplicacao;
+    private HttpClient cliente;
+    private String base;
+    private int proximo;
+
+    @Setup
+    public void iniciar() throws IOException {
+        tmdb = tmdbFalso();
+        tmdb.start();
+        // Argumentos de linha de comando: properties() do builder só define padrões,
+        // e o application.properties prevaleceria
+        aplicacao = new SpringApplicationBuilder(Application.class).run(
+                "--server.port=0",
+                "--tmdb.api.base-url=http://127.0.0.1:" + tmdb.getAddress().getPort(),
+                "--tmdb.cache.enabled=" + cache,
+                "--tmdb.rate-limit.enabled=false",
+                "--tmdb.prefetch.enabled=false",
+                "--tmdb.warmup.enabled=false",
+                "--catalogo.local.enabled=false",
+                "--catalogo.sync.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.filmesapi=WARN",
+                "--logging.level.org.hibernate.SQL=WARN");
+        base = "http://127.0.0.1:" + aplicacao.getEnvironment().getProperty("local.server.port");
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown
+    public void encerrar() {
+        aplicacao.close();
+        tmdb.stop(0);
+    }
+
+    @Benchmark
+    public int detalhes() throws Exception {
+        return get("/api/filmes/" + (550 + proximo++ % FILMES));
+    }
+
+    @Benchmark
+    public int popularCompacto() throws Exception {
+        return get("/api/filmes/popular?projection=compact&page=" + (1 + proximo++ % 20));
+    }
+
+    private int get(String caminho) throws Exception {
+        HttpResponse<byte[]> resposta = cliente.send(
+                HttpRequest.newBuilder(URI.create(base + caminho)).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException(caminho + " respondeu " + resposta.statusCode());
+        }
+        return resposta.body().length;
+    }
+
+    private static HttpServer tmdbFalso() throws IOException {
+        // Sem TCP_NODELAY o HttpServer do JDK segura respostas pequenas por ~40 ms
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        byte[] pagina = Dados.paginaTmdb();
+        HttpServer servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/", troca -> {
+            String caminho = troca.getRequestURI().getPath();
+            byte[] corpo = caminho.matches(".*/movie/\\d+")
+                    ? detalhe(caminho.substring(caminho.lastIndexOf('/') + 1))
+                    : pagina;
+            troca.getResponseHeaders().set("Content-Type", "application/json;charset=utf-8");
+            troca.sendResponseHeaders(200, corpo.length);
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(corpo);
+            }
+        });
+        return servidor;
+    }
+
+    private static byte[] detalhe(String id) {
+        return ("{\"id\":" + id + ",\"title\":\"Filme " + id + "\",\"original_title\":\"Movie " + id + "\","
+                + "\"overview\":\"Sinopse do filme " + id + ".\",\"poster_path\":\"/poster" + id + ".jpg\","
+                + "\"backdrop_path\":\"/backdrop" + id + ".jpg\",\"release_date\":\"1999-10-15\","
+                + "\"runtime\":139,\"vote_average\":8.4,\"vote_count\":30000,\"popularity\":61.4,"
+                + "\"genres\":[{\"id\":18,\"name\":\"Drama\"},{\"id\":53,\"name\":\"Thriller\"}]}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
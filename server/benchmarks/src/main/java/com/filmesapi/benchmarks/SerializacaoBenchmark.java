@@ -0,0 +1,87 @@
+package com.filmesapi.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.filmesapi.modules.dashboard.dto.FilmeListaDTO;
+import com.filmesapi.modules.dashboard.dto.ListaResponseDTO;
+import com.filmesapi.modules.dashboard.model.ListaFilme;
+import com.filmesapi.modules.filmes.dto.TMDBPageDTO;
+import com.filmesapi.modules.filmes.service.TMDBJsonParser;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON das respostas mais frequentes: listas do usuário, páginas do TMDB já
+ * tipadas (projection=compact) e a leitura da página crua do TMDB. O
+ * ObjectMapper tem a mesma configuração base que o Spring Boot monta.
+ * As páginas do TMDB têm sempre 20 filmes, então só a lista varia de tamanho.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacaoBenchmark {
+
+    private ObjectMapper objectMapper;
+    private TMDBJsonParser parser;
+    private TMDBPageDTO pagina;
+    private byte[] paginaTmdb;
+
+    @State(Scope.Benchmark)
+    public static class ListaState {
+
+        @Param({"10", "100", "1000"})
+        private int filmes;
+
+        private ListaResponseDTO lista;
+
+        @Setup
+        public void preparar() {
+            lista = listaResponse(filmes);
+        }
+    }
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        parser = new TMDBJsonParser(objectMapper);
+        pagina = Dados.pagina();
+        paginaTmdb = Dados.paginaTmdb();
+    }
+
+    @Benchmark
+    public byte[] listaResponse(ListaState estado) throws Exception {
+        return objectMapper.writeValueAsBytes(estado.lista);
+    }
+
+    @Benchmark
+    public byte[] paginaCompacta() throws Exception {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public TMDBPageDTO lerPaginaTmdb() {
+        return parser.parse(paginaTmdb, TMDBPageDTO.class);
+    }
+
+    private static ListaResponseDTO listaResponse(int filmes) {
+        List<FilmeListaDTO> itens = new ArrayList<>(filmes);
+        for (ListaFilme filme : Dados.lista(filmes).getFilmes()) {
+            itens.add(new FilmeListaDTO(filme.getId(), filme.getTmdbId(), filme.getTitulo(), filme.getPosterPath(),
+                    filme.getAnoLancamento(), filme.getNota(), filme.getGeneros(), filme.getDataAdicao()));
+        }
+        ListaResponseDTO dto = new ListaResponseDTO();
+        dto.setId(1L);
+        dto.setNome("Favoritos");
+        dto.setDescricao("Filmes para rever");
+        dto.setUsuarioId(1L);
+        dto.setFilmes(itens);
+        dto.setTotalFilmes(itens.size());
+        return dto;
+    }
+}
@@ -0,0 +1,58 @@
+package com.filmesapi.modules.dashboard.service;
+
+import com.filmesapi.benchmarks.Dados;
+import com.filmesapi.modules.dashboard.dto.FilmeListaDTO;
+import com.filmesapi.modules.dashboard.dto.ListaResponseDTO;
+import com.filmesapi.modules.dashboard.model.Lista;
+import com.filmesapi.modules.dashboard.model.ListaFilme;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de entidades em DTOs, feita para cada lista devolvida por
+ * GET /api/listas/usuario/{id}. No mesmo pacote do serviço para chamar as
+ * conversões, que não são públicas.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListaServiceBenchmark {
+
+    private ListaService service;
+    private ListaFilme filme;
+
+    @State(Scope.Benchmark)
+    public static class ListaState {
+
+        @Param({"10", "100", "1000"})
+        private int filmes;
+
+        private Lista lista;
+
+        @Setup
+        public void preparar() {
+            lista = Dados.lista(filmes);
+        }
+    }
+
+    @Setup
+    public void preparar() {
+        // As conversões não usam os repositórios
+        service = new ListaService(null, null, null);
+        filme = Dados.lista(1).getFilmes().get(0);
+    }
+
+    @Benchmark
+    public ListaResponseDTO convertToDTO(ListaState estado) {
+        return service.convertToDTO(estado.lista);
+    }
+
+    @Benchmark
+    public FilmeListaDTO convertFilmeToDTO() {
+        return service.convertFilmeToDTO(filme);
+    }
+}
@@ -0,0 +1,40 @@
+package com.filmesapi.modules.reviews.service;
+
+import com.filmesapi.benchmarks.Dados;
+import com.filmesapi.modules.reviews.model.Review;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeamento de reviews já carregadas (com o autor) para ReviewResponse.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewServiceBenchmark {
+
+    @Param({"20", "1000"})
+    private int reviews;
+
+    private ReviewService service;
+    private List<Review> carregadas;
+
+    @Setup
+    public void preparar() {
+        service = new ReviewService(null, null, null);
+        carregadas = Dados.reviews(reviews);
+    }
+
+    @Benchmark
+    public void toResponse(Blackhole blackhole) {
+        for (Review review : carregadas) {
+            blackhole.consume(service.toResponse(review));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+#!/bin/bash
+# Executa o teste de carga com a aplicação e o TMDB falso embutidos.
+#
+#   ./executar.sh                                   mix padrão, 20 usuários por 60s
+#   ./executar.sh --carga.usuarios=50 --carga.duracao=5m
+#   ./executar.sh --carga.tmdb.erros=5% --carga.tmdb.latencia=300ms
+#   ./executar.sh --carga.url=http://localhost:8081  contra uma instância já no ar
+#
+# Argumentos que não começam com --carga. vão para a aplicação (ex.: --tmdb.cache.enabled=false).
+# Termina com código 1 quando algum limite (--carga.limite.*) é ultrapassado.
+set -e
+cd "$(dirname "$0")"
+
+mvn -B -q -f ../pom.xml install -DskipTests
+mvn -B -q package -DskipTests
+
+java -jar target/carga.jar "$@"
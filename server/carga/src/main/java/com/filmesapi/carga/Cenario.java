@@ -0,0 +1,130 @@
+package com.filmesapi.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Jornadas de um usuário na aplicação. Cada passo vira uma operação nas
+ * métricas, com o nome {@code cenario.passo}.
+ */
+enum Cenario {
+
+    // Abertura do dashboard: vitrines do TMDB, resumo das listas e reviews do usuário
+    DASHBOARD("dashboard") {
+        @Override
+        void executar(UsuarioVirtual usuario) {
+            ClienteApi cliente = usuario.cliente();
+            long id = usuario.id();
+            cliente.get("dashboard.popular", "/api/filmes/popular?projection=compact");
+            cliente.get("dashboard.trending", "/api/filmes/trending?projection=compact");
+            cliente.get("dashboard.now-playing", "/api/filmes/now-playing?projection=compact");
+            cliente.get("dashboard.genres", "/api/filmes/genres");
+            cliente.get("dashboard.resumo", "/api/listas/usuario/" + id + "/resumo");
+            cliente.get("dashboard.reviews", "/api/reviews/usuario/" + id + "/pagina?limit=10");
+        }
+    },
+
+    // Digitação com sugestões a cada tecla, busca do termo completo e abertura de um resultado
+    BUSCA("busca") {
+        @Override
+        void executar(UsuarioVirtual usuario) {
+            ClienteApi cliente = usuario.cliente();
+            String termo = usuario.sortear(TERMOS);
+            for (int tamanho = 2; tamanho <= Math.min(termo.length(), 8); tamanho++) {
+                cliente.get("busca.suggest", "/api/filmes/suggest?limit=8&prefix=" + UsuarioVirtual.codificar(termo.substring(0, tamanho)));
+                usuario.digitar();
+            }
+            JsonNode pagina = cliente.get("busca.search", "/api/filmes/search?query=" + UsuarioVirtual.codificar(termo)).json();
+            JsonNode primeiro = pagina == null ? null : pagina.path("results").path(0).get("id");
+            long tmdbId = primeiro != null ? primeiro.asLong() : usuario.sortear(FILMES);
+            cliente.get("busca.detalhes", "/api/filmes/" + tmdbId);
+        }
+    },
+
+    // Ciclo completo de uma lista, para que o banco não cresça durante o teste
+    LISTAS("listas") {
+        @Override
+        void executar(UsuarioVirtual usuario) {
+            ClienteApi cliente = usuario.cliente();
+            String base = "/api/listas/usuario/" + usuario.id();
+            Map<String, Object> nova = Map.of(
+                    "nome", "Carga " + usuario.id() + "-" + usuario.proximaSequencia(),
+                    "descricao", "Lista criada pelo teste de carga");
+            JsonNode lista = cliente.post("listas.criar", base, nova).json();
+            if (lista == null) {
+                return;
+            }
+            long listaId = lista.path("id").asLong();
+            long[] filmes = usuario.sortearDistintos(FILMES, 3);
+            for (long tmdbId : filmes) {
+                cliente.post("listas.adicionar-filme", base + "/adicionar-filme", filme(listaId, tmdbId));
+            }
+            cliente.get("listas.filmes", base + "/lista/" + listaId + "/filmes?limit=50");
+            cliente.get("listas.todas", base);
+            cliente.delete("listas.remover-filme", base + "/lista/" + listaId + "/filme/" + filmes[0]);
+            cliente.delete("listas.excluir", base + "/lista/" + listaId);
+        }
+    },
+
+    // Escrita de review seguida das leituras que a tela do filme faz
+    REVIEWS("reviews") {
+        @Override
+        void executar(UsuarioVirtual usuario) {
+            ClienteApi cliente = usuario.cliente();
+            long tmdbId = usuario.sortear(FILMES);
+            Map<String, Object> review = new LinkedHashMap<>();
+            review.put("tmdbId", tmdbId);
+            review.put("tituloFilme", "Filme " + tmdbId);
+            review.put("nota", usuario.nota());
+            review.put("comentario", "Review do teste de carga para o filme " + tmdbId + ".");
+            JsonNode salva = cliente.post("reviews.salvar", "/api/reviews/usuario/" + usuario.id(), review).json();
+            cliente.get("reviews.stats", "/api/reviews/filme/" + tmdbId + "/stats");
+            cliente.get("reviews.pagina", "/api/reviews/filme/" + tmdbId + "/pagina?limit=20");
+            // Parte das reviews é apagada para exercitar a remoção e manter a tabela estável
+            if (salva != null && usuario.chance(0.25)) {
+                cliente.delete("reviews.excluir", "/api/reviews/" + salva.path("id").asLong() + "/usuario/" + usuario.id());
+            }
+        }
+    };
+
+    // Filmes das gravações do TMDB falso
+    static final long[] FILMES = {238, 550, 603, 155, 27205, 157336, 598, 496243, 129, 680,
+            13, 120, 299534, 693134, 872585, 1000837, 7347, 346698, 150540, 475557};
+
+    static final String[] TERMOS = {"matrix", "batman", "senhor dos aneis", "tropa de elite", "interestelar",
+            "divertida mente", "homem aranha", "vingadores", "duna", "toy story", "cidade de deus", "gladiador"};
+
+    private final String nome;
+
+    Cenario(String nome) {
+        this.nome = nome;
+    }
+
+    String getNome() {
+        return nome;
+    }
+
+    abstract void executar(UsuarioVirtual usuario);
+
+    static Cenario doNome(String nome) {
+        return Arrays.stream(values())
+                .filter(cenario -> cenario.nome.equalsIgnoreCase(nome))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Cenário inválido: " + nome));
+    }
+
+    private static Map<String, Object> filme(long listaId, long tmdbId) {
+        Map<String, Object> filme = new LinkedHashMap<>();
+        filme.put("listaId", listaId);
+        filme.put("tmdbId", tmdbId);
+        filme.put("titulo", "Filme " + tmdbId);
+        filme.put("posterPath", "/poster" + tmdbId + ".jpg");
+        filme.put("anoLancamento", "1999");
+        filme.put("nota", 8.0);
+        filme.put("generos", "18,53");
+        return filme;
+    }
+}
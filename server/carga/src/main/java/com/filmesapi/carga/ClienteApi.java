@@ -0,0 +1,109 @@
+package com.filmesapi.carga;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Cliente HTTP dos usuários virtuais. Cada chamada entra nas métricas com o
+ * nome da operação, a latência até o fim do corpo e o status.
+ */
+class ClienteApi {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final String base;
+    private final HttpClient http;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private volatile Metricas metricas;
+
+    ClienteApi(String base) {
+        this.base = base;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+
+    void setMetricas(Metricas metricas) {
+        this.metricas = metricas;
+    }
+
+    Resposta get(String operacao, String caminho) {
+        return enviar(operacao, requisicao(caminho).GET());
+    }
+
+    Resposta post(String operacao, String caminho, Object corpo) {
+        try {
+            return enviar(operacao, requisicao(caminho)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(corpo))));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    Resposta delete(String operacao, String caminho) {
+        return enviar(operacao, requisicao(caminho).DELETE());
+    }
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(URI.create(base + caminho))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json");
+    }
+
+    private Resposta enviar(String operacao, HttpRequest.Builder requisicao) {
+        long inicio = System.nanoTime();
+        int status = 0;
+        byte[] corpo = null;
+        try {
+            HttpResponse<byte[]> resposta = http.send(requisicao.build(), HttpResponse.BodyHandlers.ofByteArray());
+            status = resposta.statusCode();
+            corpo = resposta.body();
+        } catch (IOException e) {
+            // Conexão recusada ou timeout: conta como erro com status 0
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        metricas.registrar(operacao, System.nanoTime() - inicio, status);
+        return new Resposta(status, corpo, mapper);
+    }
+
+    static final class Resposta {
+
+        private final int status;
+        private final byte[] corpo;
+        private final ObjectMapper mapper;
+
+        private Resposta(int status, byte[] corpo, ObjectMapper mapper) {
+            this.status = status;
+            this.corpo = corpo;
+            this.mapper = mapper;
+        }
+
+        boolean isOk() {
+            return status >= 200 && status < 300;
+        }
+
+        // Null quando a chamada falhou ou veio sem corpo
+        JsonNode json() {
+            if (!isOk() || corpo == null || corpo.length == 0) {
+                return null;
+            }
+            try {
+                return mapper.readTree(corpo);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.filmesapi.carga;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opções do teste, lidas dos argumentos {@code --carga.*}. Os demais
+ * argumentos vão para a aplicação, como em {@code java -jar} da API.
+ */
+final class Configuracao {
+
+    private static final String PREFIXO = "--carga.";
+
+    /** Latência e falhas do TMDB falso. */
+    record Tmdb(Duration latencia, Duration variacao, double taxaErro, double taxaLimite, Path gravacoes) {
+    }
+
+    /** Limites que reprovam a execução; zero desliga o limite. */
+    record Limites(Duration p95, Duration p99, double taxaErro, double vazaoMinima) {
+    }
+
+    // Sem carga.url a aplicação sobe dentro do teste, apontada para o TMDB falso
+    final String url;
+    final int usuarios;
+    final Duration aquecimento;
+    final Duration duracao;
+    final Duration pausa;
+    final Duration digitacao;
+    final Map<Cenario, Integer> mix;
+    final Tmdb tmdb;
+    final Limites limites;
+    final Path resultado;
+    final List<String> argumentosAplicacao;
+
+    private Configuracao(Map<String, String> opcoes, List<String> argumentosAplicacao) {
+        Leitor leitor = new Leitor(opcoes);
+        this.url = leitor.texto("url", null);
+        this.usuarios = leitor.inteiro("usuarios", 20);
+        this.aquecimento = leitor.duracao("aquecimento", "15s");
+        this.duracao = leitor.duracao("duracao", "60s");
+        this.pausa = leitor.duracao("pausa", "300ms");
+        this.digitacao = leitor.duracao("digitacao", "120ms");
+        this.mix = lerMix(leitor.texto("mix", "dashboard:40,busca:25,listas:20,reviews:15"));
+        this.tmdb = new Tmdb(
+                leitor.duracao("tmdb.latencia", "80ms"),
+                leitor.duracao("tmdb.variacao", "40ms"),
+                leitor.taxa("tmdb.erros", 0),
+                leitor.taxa("tmdb.limite", 0),
+                leitor.caminho("tmdb.gravacoes"));
+        this.limites = new Limites(
+                leitor.duracao("limite.p95", "500ms"),
+                leitor.duracao("limite.p99", "1500ms"),
+                leitor.taxa("limite.erros", 0.01),
+                leitor.decimal("limite.vazao", 0));
+        this.resultado = leitor.caminho("resultado");
+        this.argumentosAplicacao = List.copyOf(argumentosAplicacao);
+        leitor.verificarSobras();
+        if (usuarios <= 0) {
+            throw new IllegalArgumentException("carga.usuarios deve ser positivo");
+        }
+    }
+
+    static Configuracao ler(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        List<String> aplicacao = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith(PREFIXO)) {
+                aplicacao.add(arg);
+                continue;
+            }
+            int igual = arg.indexOf('=');
+            if (igual < 0) {
+                throw new IllegalArgumentException("Opção sem valor: " + arg);
+            }
+            opcoes.put(arg.substring(PREFIXO.length(), igual), arg.substring(igual + 1));
+        }
+        return new Configuracao(opcoes, aplicacao);
+    }
+
+    boolean isEmbutida() {
+        return url == null;
+    }
+
+    // "dashboard:40,busca:25" -> pesos por cenário; cenários ausentes ficam fora do mix
+    private static Map<Cenario, Integer> lerMix(String valor) {
+        Map<Cenario, Integer> mix = new EnumMap<>(Cenario.class);
+        for (String parte : valor.split(",")) {
+            String[] chaveValor = parte.trim().split(":");
+            if (chaveValor.length != 2) {
+                throw new IllegalArgumentException("carga.mix inválido: " + valor);
+            }
+            int peso = Integer.parseInt(chaveValor[1].trim());
+            if (peso > 0) {
+                mix.put(Cenario.doNome(chaveValor[0].trim()), peso);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("carga.mix sem cenários: " + valor);
+        }
+        return mix;
+    }
+
+    private static final class Leitor {
+
+        private final Map<String, String> opcoes;
+
+        Leitor(Map<String, String> opcoes) {
+            this.opcoes = new HashMap<>(opcoes);
+        }
+
+        String texto(String chave, String padrao) {
+            String valor = opcoes.remove(chave);
+            return valor == null || valor.isBlank() ? padrao : valor.trim();
+        }
+
+        int inteiro(String chave, int padrao) {
+            String valor = texto(chave, null);
+            return valor == null ? padrao : Integer.parseInt(valor);
+        }
+
+        double decimal(String chave, double padrao) {
+            String valor = texto(chave, null);
+            return valor == null ? padrao : Double.parseDouble(valor);
+        }
+
+        // Aceita fração (0.05) ou percentual (5%)
+        double taxa(String chave, double padrao) {
+            String valor = texto(chave, null);
+            if (valor == null) {
+                return padrao;
+            }
+            double taxa = valor.endsWith("%")
+                    ? Double.parseDouble(valor.substring(0, valor.length() - 1)) / 100
+                    : Double.parseDouble(valor);
+            if (taxa < 0 || taxa > 1) {
+                throw new IllegalArgumentException("carga." + chave + " fora de 0..1: " + valor);
+            }
+            return taxa;
+        }
+
+        Duration duracao(String chave, String padrao) {
+            return DurationStyle.detectAndParse(texto(chave, padrao));
+        }
+
+        Path caminho(String chave) {
+            String valor = texto(chave, null);
+            return valor == null ? null : Path.of(valor);
+        }
+
+        void verificarSobras() {
+            if (!opcoes.isEmpty()) {
+                throw new IllegalArgumentException("Opções desconhecidas: carga." + String.join(", carga.", opcoes.keySet()));
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.filmesapi.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latência (em microssegundos), contagem e erros de cada operação do teste.
+ * Uma instância por fase: o aquecimento grava em outra e é descartado.
+ */
+class Metricas {
+
+    // Até 1 minuto com 3 dígitos significativos
+    private static final long MAXIMO_US = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Operacao> operacoes = new ConcurrentHashMap<>();
+    private final long inicio = System.nanoTime();
+    private volatile long fim;
+
+    void registrar(String operacao, long nanos, int status) {
+        operacoes.computeIfAbsent(operacao, nome -> new Operacao()).registrar(nanos, status);
+    }
+
+    void encerrar() {
+        fim = System.nanoTime();
+    }
+
+    double segundos() {
+        long ate = fim == 0 ? System.nanoTime() : fim;
+        return (ate - inicio) / 1e9;
+    }
+
+    // Ordenado pelo nome para o relatório sair sempre na mesma ordem
+    Map<String, Operacao> operacoes() {
+        return new TreeMap<>(operacoes);
+    }
+
+    Operacao total() {
+        Operacao total = new Operacao();
+        operacoes.values().forEach(total::somar);
+        return total;
+    }
+
+    static final class Operacao {
+
+        private final Histogram latencias = new ConcurrentHistogram(MAXIMO_US, 3);
+        private final LongAdder erros = new LongAdder();
+        // Status 0 indica falha de conexão ou timeout, sem resposta HTTP
+        private final Map<Integer, LongAdder> porStatus = new ConcurrentSkipListMap<>();
+
+        void registrar(long nanos, int status) {
+            latencias.recordValue(Math.min(MAXIMO_US, TimeUnit.NANOSECONDS.toMicros(nanos)));
+            porStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+            if (status < 200 || status >= 400) {
+                erros.increment();
+            }
+        }
+
+        private void somar(Operacao outra) {
+            latencias.add(outra.latencias);
+            erros.add(outra.erros.sum());
+            outra.porStatus.forEach((status, quantidade) ->
+                    porStatus.computeIfAbsent(status, s -> new LongAdder()).add(quantidade.sum()));
+        }
+
+        long quantidade() {
+            return latencias.getTotalCount();
+        }
+
+        long erros() {
+            return erros.sum();
+        }
+
+        double taxaErro() {
+            long quantidade = quantidade();
+            return quantidade == 0 ? 0 : (double) erros() / quantidade;
+        }
+
+        double percentilMs(double percentil) {
+            return latencias.getValueAtPercentile(percentil) / 1000.0;
+        }
+
+        double mediaMs() {
+            return latencias.getMean() / 1000.0;
+        }
+
+        double maximoMs() {
+            return latencias.getMaxValue() / 1000.0;
+        }
+
+        Map<Integer, Long> porStatus() {
+            Map<Integer, Long> contagem = new TreeMap<>();
+            porStatus.forEach((status, quantidade) -> contagem.put(status, quantidade.sum()));
+            return contagem;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.filmesapi.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tabela de vazão, erros e percentis por operação, os limites violados e o
+ * mesmo conteúdo em JSON para comparar execuções.
+ */
+class Relatorio {
+
+    private static final String LINHA = "%-24s %8s %8s %7s %8s %8s %8s %8s %8s%n";
+
+    private final Metricas metricas;
+    private final Configuracao config;
+    private final TmdbFalso tmdb;
+    private final List<String> violacoes = new ArrayList<>();
+
+    Relatorio(Metricas metricas, Configuracao config, TmdbFalso tmdb) {
+        this.metricas = metricas;
+        this.config = config;
+        this.tmdb = tmdb;
+        avaliar();
+    }
+
+    boolean isAprovado() {
+        return violacoes.isEmpty();
+    }
+
+    void imprimir(PrintStream saida) {
+        double segundos = metricas.segundos();
+        saida.printf(Locale.ROOT, "%nCarga: %d usuários, %.0fs medidos após %ds de aquecimento%n",
+                config.usuarios, segundos, config.aquecimento.toSeconds());
+        saida.printf(LINHA, "Operação", "Req", "Req/s", "Erros%", "Média", "p50", "p95", "p99", "Máx");
+        metricas.operacoes().forEach((nome, operacao) -> linha(saida, nome, operacao, segundos));
+        linha(saida, "TOTAL", metricas.total(), segundos);
+        saida.println("(latências em ms)");
+        if (tmdb != null) {
+            saida.printf("TMDB falso: %d requisições, %d erros e %d 429 injetados%n",
+                    tmdb.getRequisicoes(), tmdb.getErros(), tmdb.getLimitadas());
+        }
+        saida.println();
+        if (isAprovado()) {
+            saida.println("APROVADO");
+        } else {
+            saida.println("REPROVADO");
+            violacoes.forEach(violacao -> saida.println("  - " + violacao));
+        }
+    }
+
+    void gravar(Path arquivo) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("usuarios", config.usuarios);
+        json.put("segundos", metricas.segundos());
+        json.put("mix", config.mix);
+        json.put("tmdb", Map.of(
+                "latenciaMs", config.tmdb.latencia().toMillis(),
+                "variacaoMs", config.tmdb.variacao().toMillis(),
+                "taxaErro", config.tmdb.taxaErro(),
+                "taxaLimite", config.tmdb.taxaLimite()));
+        Map<String, Object> operacoes = new LinkedHashMap<>();
+        metricas.operacoes().forEach((nome, operacao) -> operacoes.put(nome, resumo(operacao)));
+        json.put("operacoes", operacoes);
+        json.put("total", resumo(metricas.total()));
+        json.put("aprovado", isAprovado());
+        json.put("violacoes", violacoes);
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(arquivo.toFile(), json);
+    }
+
+    private void avaliar() {
+        Metricas.Operacao total = metricas.total();
+        Configuracao.Limites limites = config.limites;
+        if (total.quantidade() == 0) {
+            violacoes.add("nenhuma requisição medida");
+            return;
+        }
+        verificarLatencia("p95", total.percentilMs(95), limites.p95());
+        verificarLatencia("p99", total.percentilMs(99), limites.p99());
+        if (limites.taxaErro() > 0 && total.taxaErro() > limites.taxaErro()) {
+            violacoes.add(String.format(Locale.ROOT, "taxa de erro %.2f%% acima de %.2f%%",
+                    total.taxaErro() * 100, limites.taxaErro() * 100));
+        }
+        double vazao = total.quantidade() / metricas.segundos();
+        if (limites.vazaoMinima() > 0 && vazao < limites.vazaoMinima()) {
+            violacoes.add(String.format(Locale.ROOT, "vazão %.1f req/s abaixo de %.1f req/s",
+                    vazao, limites.vazaoMinima()));
+        }
+    }
+
+    private void verificarLatencia(String percentil, double medidoMs, Duration limite) {
+        if (!limite.isZero() && medidoMs > limite.toMillis()) {
+            violacoes.add(String.format(Locale.ROOT, "%s de %.1f ms acima de %d ms", percentil, medidoMs, limite.toMillis()));
+        }
+    }
+
+    private Map<String, Object> resumo(Metricas.Operacao operacao) {
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("requisicoes", operacao.quantidade());
+        resumo.put("vazao", operacao.quantidade() / metricas.segundos());
+        resumo.put("erros", operacao.erros());
+        resumo.put("taxaErro", operacao.taxaErro());
+        resumo.put("mediaMs", operacao.mediaMs());
+        resumo.put("p50Ms", operacao.percentilMs(50));
+        resumo.put("p95Ms", operacao.percentilMs(95));
+        resumo.put("p99Ms", operacao.percentilMs(99));
+        resumo.put("maximoMs", operacao.maximoMs());
+        resumo.put("status", operacao.porStatus());
+        return resumo;
+    }
+
+    private static void linha(PrintStream saida, String nome, Metricas.Operacao operacao, double segundos) {
+        saida.printf(LINHA, nome,
+                operacao.quantidade(),
+                formatar(operacao.quantidade() / segundos),
+                formatar(operacao.taxaErro() * 100),
+                formatar(operacao.mediaMs()),
+                formatar(operacao.percentilMs(50)),
+                formatar(operacao.percentilMs(95)),
+                formatar(operacao.percentilMs(99)),
+                formatar(operacao.maximoMs()));
+    }
+
+    private static String formatar(double valor) {
+        return String.format(Locale.ROOT, "%.1f", valor);
+    }
+}
@@ -0,0 +1,143 @@
+package com.filmesapi.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.filmesapi.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga de ponta a ponta. Sobe um TMDB falso e a aplicação apontada
+ * para ele, cria os usuários, roda o mix de cenários e reprova a execução
+ * (código de saída 1) quando algum limite é ultrapassado.
+ *
+ * <pre>
+ * java -jar target/carga.jar --carga.usuarios=50 --carga.duracao=2m --carga.tmdb.erros=2%
+ * </pre>
+ */
+public final class TesteCarga {
+
+    private TesteCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Configuracao config;
+        try {
+            config = Configuracao.ler(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        TmdbFalso tmdb = null;
+        ConfigurableApplicationContext aplicacao = null;
+        String base = config.url;
+        if (config.isEmbutida()) {
+            tmdb = new TmdbFalso(config.tmdb);
+            tmdb.iniciar();
+            aplicacao = iniciarAplicacao(tmdb, config.argumentosAplicacao);
+            base = "http://127.0.0.1:" + aplicacao.getEnvironment().getProperty("local.server.port");
+        }
+
+        boolean aprovado;
+        try {
+            aprovado = executar(config, base, tmdb);
+        } finally {
+            if (aplicacao != null) {
+                aplicacao.close();
+            }
+            if (tmdb != null) {
+                tmdb.parar();
+            }
+        }
+        System.exit(aprovado ? 0 : 1);
+    }
+
+    private static boolean executar(Configuracao config, String base, TmdbFalso tmdb) throws Exception {
+        ClienteApi cliente = new ClienteApi(base);
+        // Preparação e aquecimento gravam em métricas que são descartadas
+        cliente.setMetricas(new Metricas());
+        List<Long> usuarios = criarUsuarios(cliente, config.usuarios);
+
+        long prazo = System.nanoTime() + config.aquecimento.toNanos() + config.duracao.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(config.usuarios);
+        for (long id : usuarios) {
+            executor.execute(new UsuarioVirtual(id, cliente, config, prazo));
+        }
+        executor.shutdown();
+
+        System.out.printf("Aquecimento de %ds com %d usuários em %s%n", config.aquecimento.toSeconds(), config.usuarios, base);
+        TimeUnit.NANOSECONDS.sleep(config.aquecimento.toNanos());
+
+        Metricas medicao = new Metricas();
+        cliente.setMetricas(medicao);
+        ScheduledExecutorService progresso = Executors.newSingleThreadScheduledExecutor();
+        progresso.scheduleAtFixedRate(() -> progresso(medicao), 10, 10, TimeUnit.SECONDS);
+        TimeUnit.NANOSECONDS.sleep(config.duracao.toNanos());
+        medicao.encerrar();
+        progresso.shutdownNow();
+
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+
+        Relatorio relatorio = new Relatorio(medicao, config, tmdb);
+        relatorio.imprimir(System.out);
+        Path arquivo = config.resultado != null ? config.resultado
+                : Path.of("resultados", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        relatorio.gravar(arquivo);
+        System.out.println("Resultado salvo em " + arquivo);
+        return relatorio.isAprovado();
+    }
+
+    private static ConfigurableApplicationContext iniciarAplicacao(TmdbFalso tmdb, List<String> extras) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--tmdb.api.base-url=" + tmdb.url(),
+                "--logging.level.root=WARN",
+                // Log de DEBUG do dashboard e do SQL pesaria mais que as próprias requisições
+                "--logging.level.com.filmesapi=WARN",
+                "--logging.level.com.filmesapi.modules.dashboard=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.hibernate=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"));
+        // Argumentos que não são carga.* vêm por último e prevalecem
+        args.addAll(extras);
+        return new SpringApplicationBuilder(Application.class).run(args.toArray(String[]::new));
+    }
+
+    // Um usuário da aplicação por usuário virtual, pelo mesmo sync que o login usa
+    private static List<Long> criarUsuarios(ClienteApi cliente, int quantidade) {
+        List<Long> ids = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            JsonNode usuario = cliente.post("preparo.usuario", "/api/usuarios/sync", Map.of(
+                    "externalId", "carga-" + i,
+                    "email", "carga" + i + "@exemplo.com",
+                    "nome", "Usuário de carga " + i)).json();
+            if (usuario == null) {
+                throw new IllegalStateException("Não foi possível criar o usuário de carga " + i);
+            }
+            ids.add(usuario.path("id").asLong());
+        }
+        return ids;
+    }
+
+    private static void progresso(Metricas metricas) {
+        Metricas.Operacao total = metricas.total();
+        System.out.printf(Locale.ROOT, "%4.0fs  %7d req  %7.1f req/s  %5.2f%% erros  p95 %.1f ms%n",
+                metricas.segundos(), total.quantidade(), total.quantidade() / metricas.segundos(),
+                total.taxaErro() * 100, total.percentilMs(95));
+    }
+}
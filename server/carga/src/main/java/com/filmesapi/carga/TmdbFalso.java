@@ -0,0 +1,164 @@
+package com.filmesapi.carga;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TMDB local que devolve payloads gravados, com latência e falhas injetadas.
+ * As rotas são as que o TMDBService usa; qualquer página pedida recebe o
+ * mesmo conteúdo gravado. Detalhes de filme vêm de {@code movie.json}, com
+ * {@code {id}} trocado pelo id pedido.
+ */
+class TmdbFalso {
+
+    private static final Map<String, String> ROTAS = Map.of(
+            "/movie/popular", "popular.json",
+            "/trending/movie/week", "trending.json",
+            "/movie/now_playing", "now_playing.json",
+            "/discover/movie", "discover.json",
+            "/search/movie", "search.json",
+            "/genre/movie/list", "genres.json");
+
+    private static final byte[] ERRO = "{\"status_code\":11,\"status_message\":\"Internal error.\"}"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LIMITE = "{\"status_code\":25,\"status_message\":\"Your request count is over the allowed limit.\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final Configuracao.Tmdb config;
+    private final Map<String, byte[]> gravacoes = new HashMap<>();
+    private final String detalhe;
+
+    private final AtomicLong requisicoes = new AtomicLong();
+    private final AtomicLong erros = new AtomicLong();
+    private final AtomicLong limitadas = new AtomicLong();
+
+    private HttpServer servidor;
+    private ExecutorService executor;
+
+    TmdbFalso(Configuracao.Tmdb config) {
+        this.config = config;
+        for (String arquivo : ROTAS.values()) {
+            gravacoes.put(arquivo, ler(config.gravacoes(), arquivo));
+        }
+        this.detalhe = new String(ler(config.gravacoes(), "movie.json"), StandardCharsets.UTF_8);
+    }
+
+    void iniciar() throws IOException {
+        // Sem TCP_NODELAY o HttpServer do JDK segura respostas pequenas por ~40 ms
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        // Uma thread por requisição: a latência injetada não pode enfileirar as demais
+        executor = Executors.newCachedThreadPool();
+        servidor.setExecutor(executor);
+        servidor.createContext("/", this::responder);
+        servidor.start();
+    }
+
+    void parar() {
+        servidor.stop(0);
+        executor.shutdownNow();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + servidor.getAddress().getPort();
+    }
+
+    long getRequisicoes() {
+        return requisicoes.get();
+    }
+
+    long getErros() {
+        return erros.get();
+    }
+
+    long getLimitadas() {
+        return limitadas.get();
+    }
+
+    private void responder(HttpExchange troca) throws IOException {
+        requisicoes.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            esperar(random);
+            if (random.nextDouble() < config.taxaLimite()) {
+                limitadas.incrementAndGet();
+                troca.getResponseHeaders().set("Retry-After", "1");
+                enviar(troca, 429, LIMITE);
+                return;
+            }
+            if (random.nextDouble() < config.taxaErro()) {
+                erros.incrementAndGet();
+                enviar(troca, 500, ERRO);
+                return;
+            }
+            String caminho = troca.getRequestURI().getPath();
+            String arquivo = ROTAS.get(caminho);
+            if (arquivo != null) {
+                enviar(troca, 200, gravacoes.get(arquivo));
+            } else if (caminho.matches("/movie/\\d+")) {
+                String id = caminho.substring(caminho.lastIndexOf('/') + 1);
+                enviar(troca, 200, detalhe.replace("{id}", id).getBytes(StandardCharsets.UTF_8));
+            } else {
+                enviar(troca, 404, "{\"status_code\":34,\"status_message\":\"The resource you requested could not be found.\"}"
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        } finally {
+            troca.close();
+        }
+    }
+
+    private void esperar(ThreadLocalRandom random) {
+        long latencia = config.latencia().toMillis();
+        long variacao = config.variacao().toMillis();
+        long espera = latencia + (variacao > 0 ? random.nextLong(-variacao, variacao + 1) : 0);
+        if (espera <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(espera);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void enviar(HttpExchange troca, int status, byte[] corpo) throws IOException {
+        troca.getResponseHeaders().set("Content-Type", "application/json;charset=utf-8");
+        troca.sendResponseHeaders(status, corpo.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+
+    // Diretório informado em carga.tmdb.gravacoes tem prioridade sobre as gravações do jar
+    private static byte[] ler(Path diretorio, String arquivo) {
+        try {
+            if (diretorio != null && Files.exists(diretorio.resolve(arquivo))) {
+                return Files.readAllBytes(diretorio.resolve(arquivo));
+            }
+            try (InputStream entrada = TmdbFalso.class.getResourceAsStream("/tmdb/" + arquivo)) {
+                if (entrada == null) {
+                    throw new IllegalStateException("Gravação não encontrada: " + arquivo);
+                }
+                return entrada.readAllBytes();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
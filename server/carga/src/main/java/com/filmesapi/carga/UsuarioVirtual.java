@@ -0,0 +1,122 @@
+package com.filmesapi.carga;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Usuário do modelo fechado: sorteia um cenário pelo peso do mix, executa e
+ * espera a pausa antes do próximo, até o prazo do teste.
+ */
+class UsuarioVirtual implements Runnable {
+
+    private final long id;
+    private final ClienteApi cliente;
+    private final Configuracao config;
+    private final long prazo;
+    private final Random random;
+    private final Cenario[] sorteio;
+    private int sequencia;
+
+    UsuarioVirtual(long id, ClienteApi cliente, Configuracao config, long prazo) {
+        this.id = id;
+        this.cliente = cliente;
+        this.config = config;
+        this.prazo = prazo;
+        // Semente fixa por usuário: execuções com a mesma configuração fazem as mesmas jornadas
+        this.random = new Random(id);
+        this.sorteio = sorteio(config.mix);
+    }
+
+    @Override
+    public void run() {
+        // Começos espalhados dentro de uma pausa, para os usuários não andarem juntos
+        esperar(config.pausa.toNanos() * random.nextInt(100) / 100);
+        while (System.nanoTime() < prazo && !Thread.currentThread().isInterrupted()) {
+            sorteio[random.nextInt(sorteio.length)].executar(this);
+            pausar();
+        }
+    }
+
+    long id() {
+        return id;
+    }
+
+    ClienteApi cliente() {
+        return cliente;
+    }
+
+    int proximaSequencia() {
+        return ++sequencia;
+    }
+
+    <T> T sortear(T[] opcoes) {
+        return opcoes[random.nextInt(opcoes.length)];
+    }
+
+    long sortear(long[] opcoes) {
+        return opcoes[random.nextInt(opcoes.length)];
+    }
+
+    long[] sortearDistintos(long[] opcoes, int quantidade) {
+        long[] embaralhados = opcoes.clone();
+        for (int i = 0; i < quantidade; i++) {
+            int j = i + random.nextInt(embaralhados.length - i);
+            long troca = embaralhados[i];
+            embaralhados[i] = embaralhados[j];
+            embaralhados[j] = troca;
+        }
+        long[] escolhidos = new long[quantidade];
+        System.arraycopy(embaralhados, 0, escolhidos, 0, quantidade);
+        return escolhidos;
+    }
+
+    boolean chance(double probabilidade) {
+        return random.nextDouble() < probabilidade;
+    }
+
+    // Notas de 0,5 a 5 estrelas, em meias estrelas
+    double nota() {
+        return (1 + random.nextInt(10)) / 2.0;
+    }
+
+    void digitar() {
+        esperar(variar(config.digitacao));
+    }
+
+    private void pausar() {
+        esperar(variar(config.pausa));
+    }
+
+    // ±50% em volta do valor configurado
+    private long variar(Duration duracao) {
+        long nanos = duracao.toNanos();
+        return nanos / 2 + (nanos > 0 ? (long) (random.nextDouble() * nanos) : 0);
+    }
+
+    private static void esperar(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static String codificar(String texto) {
+        return URLEncoder.encode(texto, StandardCharsets.UTF_8);
+    }
+
+    // Cada cenário aparece tantas vezes quanto o seu peso
+    private static Cenario[] sorteio(Map<Cenario, Integer> mix) {
+        return mix.entrySet().stream()
+                .flatMap(entrada -> Stream.generate(entrada::getKey).limit(entrada.getValue()))
+                .toArray(Cenario[]::new);
+    }
+}
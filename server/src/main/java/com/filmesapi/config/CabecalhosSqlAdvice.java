@@ -0,0 +1,56 @@
+package com.filmesapi.config;
+
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+/**
+ * Com {@code sql.cabecalhos.enabled}, informa na resposta quantas instruções
+ * SQL a requisição executou até o corpo ser escrito ({@code X-Sql-Statements})
+ * e o tempo gasto nelas ({@code Server-Timing}, visível nas ferramentas do
+ * navegador). Respostas sem corpo e em streaming saem sem os cabeçalhos.
+ */
+@RestControllerAdvice
+public class CabecalhosSqlAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String CABECALHO_INSTRUCOES = "X-Sql-Statements";
+
+    private final ContadorSql contadorSql;
+
+    @Value("${sql.cabecalhos.enabled:false}")
+    private boolean enabled;
+
+    public CabecalhosSqlAdvice(ContadorSql contadorSql) {
+        this.contadorSql = contadorSql;
+    }
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType, @NonNull MediaType contentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> converterType,
+                                  @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        // Respostas reativas são escritas em outra thread, com outra contagem
+        if (request instanceof ServletServerHttpRequest servlet
+                && servlet.getServletRequest().getDispatcherType() == DispatcherType.REQUEST) {
+            response.getHeaders().set(CABECALHO_INSTRUCOES, String.valueOf(contadorSql.total()));
+            response.getHeaders().add("Server-Timing",
+                    String.format(Locale.ROOT, "db;desc=\"SQL\";dur=%.1f", contadorSql.nanos() / 1_000_000.0));
+        }
+        return body;
+    }
+}
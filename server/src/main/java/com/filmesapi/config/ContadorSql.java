@@ -0,0 +1,79 @@
+package com.filmesapi.config;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Conta as instruções SQL executadas pela thread atual e o tempo gasto nelas.
+ * O Hibernate cria um {@link Ouvinte} por sessão, que acumula aqui cada
+ * execução (um lote de inserts conta uma vez). {@link MetricasSqlFilter} zera
+ * a contagem no início de cada requisição e lê o total no fim.
+ */
+@Component
+public class ContadorSql implements HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<Medicao> ATUAL = ThreadLocal.withInitial(Medicao::new);
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, Ouvinte.class.getName());
+    }
+
+    public void zerar() {
+        Medicao medicao = ATUAL.get();
+        medicao.execucoes = 0;
+        medicao.nanos = 0;
+    }
+
+    public int total() {
+        return ATUAL.get().execucoes;
+    }
+
+    public long nanos() {
+        return ATUAL.get().nanos;
+    }
+
+    private static final class Medicao {
+        private int execucoes;
+        private long nanos;
+    }
+
+    /**
+     * Instanciado pelo Hibernate (hibernate.session.events.auto), por isso
+     * público e sem dependências.
+     */
+    public static class Ouvinte implements SessionEventListener {
+
+        private long inicio;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            inicio = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            registrar();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            inicio = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            registrar();
+        }
+
+        private void registrar() {
+            Medicao medicao = ATUAL.get();
+            medicao.execucoes++;
+            medicao.nanos += System.nanoTime() - inicio;
+        }
+    }
+}
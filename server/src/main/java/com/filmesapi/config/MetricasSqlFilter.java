@@ -0,0 +1,102 @@
+package com.filmesapi.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publica quantas instruções SQL cada requisição da API executou
+ * ({@code sql.statements.request}) e quanto tempo elas levaram
+ * ({@code sql.time.request}), por método e rota, e confere o orçamento de
+ * {@code sql.orcamento.max-instrucoes}. Conta só o que roda na thread da
+ * requisição: consultas feitas depois, no corpo de respostas assíncronas ou
+ * em streaming, ficam de fora.
+ */
+@Component
+public class MetricasSqlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricasSqlFilter.class);
+
+    static final String METRICA = "sql.statements.request";
+    static final String METRICA_TEMPO = "sql.time.request";
+
+    private final ContadorSql contadorSql;
+    private final MeterRegistry registry;
+
+    // Acima disso a requisição provavelmente tem um N+1
+    @Value("${sql.orcamento.max-instrucoes:30}")
+    private int maxInstrucoes;
+
+    // Em testes, estourar o orçamento falha a requisição em vez de só avisar
+    @Value("${sql.orcamento.falhar:false}")
+    private boolean falhar;
+
+    public MetricasSqlFilter(ContadorSql contadorSql, MeterRegistry registry) {
+        this.contadorSql = contadorSql;
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        contadorSql.zerar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // Requisições que falham também entram na métrica
+            registrar(request);
+        }
+
+        int instrucoes = contadorSql.total();
+        long nanos = contadorSql.nanos();
+        if (instrucoes > maxInstrucoes) {
+            String mensagem = String.format("%s %s executou %d instruções SQL (%.1f ms), acima do orçamento de %d",
+                    request.getMethod(), rota(request), instrucoes, nanos / 1_000_000.0, maxInstrucoes);
+            if (falhar) {
+                throw new OrcamentoSqlExcedidoException(mensagem);
+            }
+            log.warn(mensagem);
+        }
+    }
+
+    private void registrar(HttpServletRequest request) {
+        Tags tags = Tags.of("method", request.getMethod(), "uri", rota(request));
+        DistributionSummary.builder(METRICA)
+                .description("Instruções SQL executadas por requisição")
+                .tags(tags)
+                .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+                .register(registry)
+                .record(contadorSql.total());
+        Timer.builder(METRICA_TEMPO)
+                .description("Tempo gasto em SQL por requisição")
+                .tags(tags)
+                .register(registry)
+                .record(contadorSql.nanos(), TimeUnit.NANOSECONDS);
+    }
+
+    // Rota com as variáveis (/api/reviews/filme/{tmdbId}), não a URI com ids
+    private static String rota(HttpServletRequest request) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao != null ? padrao.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,14 @@
+package com.filmesapi.config;
+
+/**
+ * Requisição que executou mais instruções SQL que {@code sql.orcamento.max-instrucoes}.
+ * Só é lançada com {@code sql.orcamento.falhar=true} (testes); fora disso o
+ * excesso vira um aviso no log. Sai do filtro depois do corpo escrito, então
+ * o cliente pode já ter recebido a resposta, mas o MockMvc a propaga para o teste.
+ */
+public class OrcamentoSqlExcedidoException extends IllegalStateException {
+
+    public OrcamentoSqlExcedidoException(String message) {
+        super(message);
+    }
+}
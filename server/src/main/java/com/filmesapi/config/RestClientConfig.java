@@ -1,24 +1,123 @@
 package com.filmesapi.config;
 
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.WriteTimeoutHandler;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class RestClientConfig {
 
+    private static final String ESCRITA = "tmdb.writeTimeout";
+
     @Value("${tmdb.api.base-url}")
     private String tmdbBaseUrl;
 
     @Value("${tmdb.api.key}")
     private String tmdbApiKey;
 
+    @Value("${tmdb.http.pool.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${tmdb.http.pool.pending-acquire-max-count:500}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${tmdb.http.pool.pending-acquire-timeout:5s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${tmdb.http.pool.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${tmdb.http.pool.max-life-time:5m}")
+    private Duration maxLifeTime;
+
+    @Value("${tmdb.http.pool.evict-in-background:30s}")
+    private Duration evictInBackground;
+
+    @Value("${tmdb.http.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${tmdb.http.write-timeout:5s}")
+    private Duration writeTimeout;
+
+    @Value("${tmdb.http.response-timeout:5s}")
+    private Duration responseTimeout;
+
+    @Value("${tmdb.http.http2:false}")
+    private boolean http2;
+
+    @Value("${tmdb.http.compression:true}")
+    private boolean compression;
+
+    @Value("${tmdb.http.max-in-memory-size:2MB}")
+    private DataSize maxInMemorySize;
+
+    /**
+     * Pool de conexões dedicado ao TMDB. Com metrics habilitado, o Reactor Netty
+     * publica no Micrometer as conexões ativas, ociosas e pendentes e o tempo
+     * de aquisição (reactor.netty.connection.provider.*).
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider tmdbConnectionProvider() {
+        return ConnectionProvider.builder("tmdb")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient tmdbWebClient() {
+    public WebClient tmdbWebClient(ConnectionProvider tmdbConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(tmdbConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(responseTimeout)
+                .compress(compression)
+                .metrics(true, RestClientConfig::uriSemIds)
+                // Tempo limite de escrita só enquanto a requisição é enviada: preso ao canal, ele
+                // continuaria valendo com a conexão ociosa no pool. A leitura fica com o responseTimeout,
+                // que o Reactor Netty aplica entre leituras até a resposta terminar
+                .doOnRequest((request, connection) -> connection.addHandlerLast(ESCRITA,
+                        new WriteTimeoutHandler(writeTimeout.toMillis(), TimeUnit.MILLISECONDS)))
+                .doAfterRequest((request, connection) -> connection.removeHandler(ESCRITA));
+
+        // HTTP/2 depende de ALPN, então só é negociado sobre TLS
+        if (http2 && tmdbBaseUrl != null && tmdbBaseUrl.startsWith("https")) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+
+        ExchangeStrategies strategies = ExchangeStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()))
+                .build();
+
         return WebClient.builder()
                 .baseUrl(tmdbBaseUrl != null ? tmdbBaseUrl : "")
                 .defaultHeader("Authorization", "Bearer " + (tmdbApiKey != null ? tmdbApiKey : ""))
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .exchangeStrategies(strategies)
                 .build();
     }
+
+    // Evita uma série de métricas por id de filme ou por query string
+    private static String uriSemIds(String uri) {
+        int query = uri.indexOf('?');
+        String path = query >= 0 ? uri.substring(0, query) : uri;
+        return path.replaceAll("/\\d+", "/{id}");
+    }
 }
@@ -0,0 +1,108 @@
+package com.filmesapi.modules.dashboard.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.filmesapi.modules.dashboard.dto.ListaResponseDTO;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Escreve coleções de listas direto no corpo da resposta, um elemento por vez,
+ * em JSON ou em um dos formatos binários do Jackson (Smile, CBOR) escolhido
+ * pelo {@code Accept}. Os três formatos usam a mesma configuração do
+ * ObjectMapper da aplicação.
+ */
+@Component
+class EscritorListas {
+
+    static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    // Em ordem de preferência quando o Accept empata
+    private static final List<MediaType> SUPORTADOS = List.of(
+            MediaType.APPLICATION_JSON, APPLICATION_SMILE, MediaType.APPLICATION_CBOR);
+
+    private final ObjectWriter json;
+    private final ObjectWriter smile;
+    private final ObjectWriter cbor;
+
+    EscritorListas(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+        this.json = escritor(objectMapper);
+        this.smile = escritor(builder.factory(new SmileFactory()).build());
+        this.cbor = escritor(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Formato da resposta para o Accept recebido; JSON quando o cliente não
+     * pede nenhum dos formatos binários.
+     */
+    MediaType formatoPara(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> aceitos;
+        try {
+            aceitos = MediaType.parseMediaTypes(accept);
+            // MediaType considera o q antes da especificidade ao comparar
+            MimeTypeUtils.sortBySpecificity(aceitos);
+        } catch (IllegalArgumentException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        for (MediaType aceito : aceitos) {
+            for (MediaType suportado : SUPORTADOS) {
+                if (aceito.isCompatibleWith(suportado)) {
+                    return suportado;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * Abre um array no formato pedido e repassa ao produtor uma função que
+     * escreve cada lista assim que ela fica pronta.
+     */
+    void escrever(MediaType formato, OutputStream saida, Consumer<Consumer<ListaResponseDTO>> produtor) throws IOException {
+        ObjectWriter writer = escritorDe(formato);
+        try (JsonGenerator gerador = writer.getFactory().createGenerator(saida)) {
+            // O stream é do servlet e é fechado pelo Spring
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gerador.writeStartArray();
+            produtor.accept(lista -> {
+                try {
+                    writer.writeValue(gerador, lista);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            gerador.writeEndArray();
+        }
+    }
+
+    private ObjectWriter escritorDe(MediaType formato) {
+        if (APPLICATION_SMILE.equalsTypeAndSubtype(formato)) {
+            return smile;
+        }
+        if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(formato)) {
+            return cbor;
+        }
+        return json;
+    }
+
+    // Sem flush por elemento: o buffer do servlet (e o gzip) decide quando enviar
+    private static ObjectWriter escritor(ObjectMapper mapper) {
+        return mapper.writerFor(ListaResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+}
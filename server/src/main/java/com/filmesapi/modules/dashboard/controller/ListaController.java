@@ -1,13 +1,26 @@
 package com.filmesapi.modules.dashboard.controller;
 
 import com.filmesapi.modules.dashboard.dto.AdicionarFilmeDTO;
+import com.filmesapi.modules.dashboard.dto.AdicionarFilmesEmLoteDTO;
 import com.filmesapi.modules.dashboard.dto.CriarListaDTO;
 import com.filmesapi.modules.dashboard.dto.ListaResponseDTO;
+import com.filmesapi.modules.dashboard.dto.ListaResumoDTO;
+import com.filmesapi.modules.dashboard.dto.MoverFilmesEmLoteDTO;
+import com.filmesapi.modules.dashboard.dto.PaginaFilmesListaDTO;
+import com.filmesapi.modules.dashboard.dto.RemoverFilmesEmLoteDTO;
+import com.filmesapi.modules.dashboard.dto.ResultadoLoteDTO;
 import com.filmesapi.modules.dashboard.service.ListaService;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -17,20 +30,93 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ListaController {
     
+    private static final Logger log = LoggerFactory.getLogger(ListaController.class);
+    
     private final ListaService listaService;
+    private final EscritorListas escritorListas;
     
     @GetMapping("/usuario/{usuarioId}")
-    public ResponseEntity<List<ListaResponseDTO>> buscarListasDoUsuario(@PathVariable Long usuarioId) {
-        System.out.println("🌐 [ListaController] GET /api/listas/usuario/" + usuarioId);
+    public ResponseEntity<StreamingResponseBody> buscarListasDoUsuario(
+            @PathVariable Long usuarioId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
+        log.debug("🌐 GET /api/listas/usuario/{}", usuarioId);
+        
+        try {
+            MediaType formato = escritorListas.formatoPara(accept);
+            String etag = variante(listaService.etagDasListas(usuarioId), formato);
+            // checkNotModified já grava o cabeçalho ETag, também na resposta 200
+            if (webRequest.checkNotModified(etag)) {
+                log.debug("♻️ Listas sem alteração (304)");
+                return null;
+            }
+            
+            // As listas são escritas conforme cada lote é carregado, sem montar a coleção inteira
+            StreamingResponseBody corpo = saida -> escritorListas.escrever(formato, saida, destino -> {
+                int total = listaService.transmitirListasDoUsuario(usuarioId, destino);
+                log.debug("✅ Retornando {} listas", total);
+            });
+            return ResponseEntity.ok()
+                    .contentType(formato)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(corpo);
+            
+        } catch (Exception e) {
+            log.error("❌ Erro ao buscar listas", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping("/usuario/{usuarioId}/resumo")
+    public ResponseEntity<List<ListaResumoDTO>> resumirListasDoUsuario(
+            @PathVariable Long usuarioId,
+            @RequestParam(defaultValue = "4") int posters,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
+        log.debug("🌐 GET /api/listas/usuario/{}/resumo", usuarioId);
+        
+        try {
+            // A versão das listas também muda quando filmes entram ou saem
+            String etag = comSufixo(variante(listaService.etagDasListas(usuarioId), escritorListas.formatoPara(accept)),
+                    "resumo-" + posters);
+            if (webRequest.checkNotModified(etag)) {
+                log.debug("♻️ Resumo sem alteração (304)");
+                return null;
+            }
+            
+            List<ListaResumoDTO> resumos = listaService.resumirListasDoUsuario(usuarioId, posters);
+            
+            log.debug("✅ Retornando resumo de {} listas", resumos.size());
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(resumos);
+            
+        } catch (Exception e) {
+            log.error("❌ Erro ao resumir listas", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping("/usuario/{usuarioId}/lista/{listaId}/filmes")
+    public ResponseEntity<PaginaFilmesListaDTO> buscarFilmesDaLista(
+            @PathVariable Long usuarioId,
+            @PathVariable Long listaId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.debug("🌐 GET /api/listas/usuario/{}/lista/{}/filmes?after={}", usuarioId, listaId, after);
         
         try {
-            List<ListaResponseDTO> listas = listaService.buscarListasDoUsuario(usuarioId);
+            PaginaFilmesListaDTO pagina = listaService.buscarFilmesDaLista(usuarioId, listaId, after, limit);
+            return ResponseEntity.ok(pagina);
             
-            System.out.println("✅ [ListaController] Retornando " + listas.size() + " listas");
-            return ResponseEntity.ok(listas);
+        } catch (RuntimeException e) {
+            log.warn("❌ Erro ao buscar filmes da lista: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
             
         } catch (Exception e) {
-            System.out.println("❌ [ListaController] Erro ao buscar listas: " + e.getMessage());
+            log.error("❌ Erro interno", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -40,21 +126,21 @@ public class ListaController {
             @PathVariable Long usuarioId,
             @RequestBody CriarListaDTO dto) {
         
-        System.out.println("🌐 [ListaController] POST /api/listas/usuario/" + usuarioId);
-        System.out.println("📦 [ListaController] Dados recebidos: " + dto);
+        log.debug("🌐 POST /api/listas/usuario/{}", usuarioId);
+        log.debug("📦 Dados recebidos: {}", dto);
         
         try {
             ListaResponseDTO lista = listaService.criarLista(usuarioId, dto);
             
-            System.out.println("✅ [ListaController] Lista criada com sucesso - ID: " + lista.getId());
+            log.debug("✅ Lista criada com sucesso - ID: {}", lista.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(lista);
             
         } catch (RuntimeException e) {
-            System.out.println("❌ [ListaController] Erro ao criar lista: " + e.getMessage());
+            log.warn("❌ Erro ao criar lista: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             
         } catch (Exception e) {
-            System.out.println("❌ [ListaController] Erro interno: " + e.getMessage());
+            log.error("❌ Erro interno", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -64,48 +150,117 @@ public class ListaController {
             @PathVariable Long usuarioId,
             @RequestBody AdicionarFilmeDTO dto) {
         
-        System.out.println("🌐 [ListaController] POST /api/listas/usuario/" + usuarioId + "/adicionar-filme");
-        System.out.println("📦 [ListaController] Dados recebidos: " + dto);
+        log.debug("🌐 POST /api/listas/usuario/{}/adicionar-filme", usuarioId);
+        log.debug("📦 Dados recebidos: {}", dto);
         
         try {
             listaService.adicionarFilmeNaLista(usuarioId, dto);
             
-            System.out.println("✅ [ListaController] Filme adicionado com sucesso");
+            log.debug("✅ Filme adicionado com sucesso");
             return ResponseEntity.ok(Map.of("message", "Filme adicionado com sucesso"));
             
         } catch (RuntimeException e) {
-            System.out.println("❌ [ListaController] Erro ao adicionar filme: " + e.getMessage());
+            log.warn("❌ Erro ao adicionar filme: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
                     
         } catch (Exception e) {
-            System.out.println("❌ [ListaController] Erro interno: " + e.getMessage());
+            log.error("❌ Erro interno", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Erro ao adicionar filme"));
         }
     }
     
+    @PostMapping("/usuario/{usuarioId}/adicionar-filmes")
+    public ResponseEntity<?> adicionarFilmes(
+            @PathVariable Long usuarioId,
+            @RequestBody AdicionarFilmesEmLoteDTO dto) {
+        
+        log.debug("🌐 POST /api/listas/usuario/{}/adicionar-filmes", usuarioId);
+        
+        try {
+            ResultadoLoteDTO resultado = listaService.adicionarFilmesNaLista(usuarioId, dto);
+            return ResponseEntity.ok(resultado);
+            
+        } catch (RuntimeException e) {
+            log.warn("❌ Erro ao adicionar filmes: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+                    
+        } catch (Exception e) {
+            log.error("❌ Erro interno", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Erro ao adicionar filmes"));
+        }
+    }
+    
+    @PostMapping("/usuario/{usuarioId}/remover-filmes")
+    public ResponseEntity<?> removerFilmes(
+            @PathVariable Long usuarioId,
+            @RequestBody RemoverFilmesEmLoteDTO dto) {
+        
+        log.debug("🌐 POST /api/listas/usuario/{}/remover-filmes", usuarioId);
+        
+        try {
+            ResultadoLoteDTO resultado = listaService.removerFilmesDaLista(usuarioId, dto);
+            return ResponseEntity.ok(resultado);
+            
+        } catch (RuntimeException e) {
+            log.warn("❌ Erro ao remover filmes: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+                    
+        } catch (Exception e) {
+            log.error("❌ Erro interno", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Erro ao remover filmes"));
+        }
+    }
+    
+    @PostMapping("/usuario/{usuarioId}/mover-filmes")
+    public ResponseEntity<?> moverFilmes(
+            @PathVariable Long usuarioId,
+            @RequestBody MoverFilmesEmLoteDTO dto) {
+        
+        log.debug("🌐 POST /api/listas/usuario/{}/mover-filmes", usuarioId);
+        
+        try {
+            ResultadoLoteDTO resultado = listaService.moverFilmesEntreListas(usuarioId, dto);
+            return ResponseEntity.ok(resultado);
+            
+        } catch (RuntimeException e) {
+            log.warn("❌ Erro ao mover filmes: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+                    
+        } catch (Exception e) {
+            log.error("❌ Erro interno", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Erro ao mover filmes"));
+        }
+    }
+    
     @DeleteMapping("/usuario/{usuarioId}/lista/{listaId}/filme/{tmdbId}")
     public ResponseEntity<Map<String, String>> removerFilme(
             @PathVariable Long usuarioId,
             @PathVariable Long listaId,
             @PathVariable Long tmdbId) {
         
-        System.out.println("🌐 [ListaController] DELETE /api/listas/usuario/" + usuarioId + "/lista/" + listaId + "/filme/" + tmdbId);
+        log.debug("🌐 DELETE /api/listas/usuario/{}/lista/{}/filme/{}", usuarioId, listaId, tmdbId);
         
         try {
             listaService.removerFilmeDaLista(usuarioId, listaId, tmdbId);
             
-            System.out.println("✅ [ListaController] Filme removido com sucesso");
+            log.debug("✅ Filme removido com sucesso");
             return ResponseEntity.ok(Map.of("message", "Filme removido com sucesso"));
             
         } catch (RuntimeException e) {
-            System.out.println("❌ [ListaController] Erro ao remover filme: " + e.getMessage());
+            log.warn("❌ Erro ao remover filme: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
                     
         } catch (Exception e) {
-            System.out.println("❌ [ListaController] Erro interno: " + e.getMessage());
+            log.error("❌ Erro interno", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Erro ao remover filme"));
         }
@@ -116,23 +271,35 @@ public class ListaController {
             @PathVariable Long usuarioId,
             @PathVariable Long listaId) {
         
-        System.out.println("🌐 [ListaController] DELETE /api/listas/usuario/" + usuarioId + "/lista/" + listaId);
+        log.debug("🌐 DELETE /api/listas/usuario/{}/lista/{}", usuarioId, listaId);
         
         try {
             listaService.deletarLista(usuarioId, listaId);
             
-            System.out.println("✅ [ListaController] Lista deletada com sucesso");
+            log.debug("✅ Lista deletada com sucesso");
             return ResponseEntity.ok(Map.of("message", "Lista deletada com sucesso"));
             
         } catch (RuntimeException e) {
-            System.out.println("❌ [ListaController] Erro ao deletar lista: " + e.getMessage());
+            log.warn("❌ Erro ao deletar lista: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
                     
         } catch (Exception e) {
-            System.out.println("❌ [ListaController] Erro interno: " + e.getMessage());
+            log.error("❌ Erro interno", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Erro ao deletar lista"));
         }
     }
+    
+    // Cada formato tem sua própria ETag, já que o corpo muda com o Accept
+    private static String variante(String etag, MediaType formato) {
+        if (MediaType.APPLICATION_JSON.equalsTypeAndSubtype(formato)) {
+            return etag;
+        }
+        return comSufixo(etag, MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(formato) ? "cbor" : "smile");
+    }
+    
+    private static String comSufixo(String etag, String sufixo) {
+        return etag.substring(0, etag.length() - 1) + "-" + sufixo + "\"";
+    }
 }
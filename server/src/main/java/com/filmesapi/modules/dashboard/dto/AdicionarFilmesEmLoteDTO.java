@@ -0,0 +1,15 @@
+package com.filmesapi.modules.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdicionarFilmesEmLoteDTO {
+    private Long listaId;
+    private List<AdicionarFilmeDTO> filmes;
+}
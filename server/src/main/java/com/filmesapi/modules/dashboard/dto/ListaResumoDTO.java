@@ -0,0 +1,33 @@
+package com.filmesapi.modules.dashboard.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ListaResumoDTO {
+    private Long id;
+    private String nome;
+    private String descricao;
+    private Long usuarioId;
+    private LocalDateTime dataCriacao;
+    private LocalDateTime dataAtualizacao;
+    private Long totalFilmes;
+    private List<String> posters = new ArrayList<>();
+    
+    // Usado pela projeção JPQL; os pôsteres vêm de uma segunda consulta
+    public ListaResumoDTO(Long id, String nome, String descricao, Long usuarioId,
+                          LocalDateTime dataCriacao, LocalDateTime dataAtualizacao, Long totalFilmes) {
+        this.id = id;
+        this.nome = nome;
+        this.descricao = descricao;
+        this.usuarioId = usuarioId;
+        this.dataCriacao = dataCriacao;
+        this.dataAtualizacao = dataAtualizacao;
+        this.totalFilmes = totalFilmes;
+    }
+}
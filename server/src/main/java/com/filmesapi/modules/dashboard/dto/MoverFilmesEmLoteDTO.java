@@ -0,0 +1,16 @@
+package com.filmesapi.modules.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoverFilmesEmLoteDTO {
+    private Long listaOrigemId;
+    private Long listaDestinoId;
+    private List<Long> tmdbIds;
+}
@@ -0,0 +1,16 @@
+package com.filmesapi.modules.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaFilmesListaDTO {
+    private List<FilmeListaDTO> filmes;
+    // Valor para o parâmetro after da próxima página; nulo na última
+    private Long proximo;
+}
@@ -0,0 +1,14 @@
+package com.filmesapi.modules.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoItemLoteDTO {
+    private Long tmdbId;
+    // ADICIONADO, REMOVIDO, MOVIDO, DUPLICADO, JA_NO_DESTINO, NAO_ENCONTRADO ou INVALIDO
+    private String status;
+}
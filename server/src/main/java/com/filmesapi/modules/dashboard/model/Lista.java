@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,6 +17,8 @@ import java.util.List;
 @AllArgsConstructor
 public class Lista {
     
+    private static final Logger log = LoggerFactory.getLogger(Lista.class);
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -34,6 +38,12 @@ public class Lista {
     @Column(name = "data_atualizacao")
     private LocalDateTime dataAtualizacao;
     
+    // Incrementada a cada alteração dos filmes da lista; base da ETag das listas do usuário.
+    // Não é @Version: o incremento é um UPDATE atômico (ListaRepository.incrementarVersao),
+    // então adições simultâneas na mesma lista não conflitam
+    @Column(nullable = false)
+    private Long versao = 0L;
+    
     @OneToMany(mappedBy = "lista", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ListaFilme> filmes = new ArrayList<>();
     
@@ -41,12 +51,12 @@ public class Lista {
     protected void onCreate() {
         dataCriacao = LocalDateTime.now();
         dataAtualizacao = LocalDateTime.now();
-        System.out.println("📝 [Lista] Criando nova lista: " + nome + " para usuário ID: " + usuarioId);
+        log.debug("📝 Criando nova lista: {} para usuário ID: {}", nome, usuarioId);
     }
     
     @PreUpdate
     protected void onUpdate() {
         dataAtualizacao = LocalDateTime.now();
-        System.out.println("🔄 [Lista] Atualizando lista ID: " + id + " - " + nome);
+        log.debug("🔄 Atualizando lista ID: {} - {}", id, nome);
     }
 }
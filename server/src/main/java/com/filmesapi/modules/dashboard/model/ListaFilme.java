@@ -4,17 +4,25 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "lista_filmes")
+@Table(name = "lista_filmes", indexes = {
+        @Index(name = "idx_lista_filmes_lista_id_id", columnList = "lista_id, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ListaFilme {
     
+    private static final Logger log = LoggerFactory.getLogger(ListaFilme.class);
+    
+    // Sequência com ids reservados em blocos: permite ao Hibernate agrupar os inserts em lote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lista_filmes_seq")
+    @SequenceGenerator(name = "lista_filmes_seq", sequenceName = "lista_filmes_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -43,6 +51,9 @@ public class ListaFilme {
     @PrePersist
     protected void onCreate() {
         dataAdicao = LocalDateTime.now();
-        System.out.println("🎬 [ListaFilme] Adicionando filme '" + titulo + "' (TMDB ID: " + tmdbId + ") à lista ID: " + lista.getId());
+        // lista é LAZY: só navega por ela quando o log vai ser escrito
+        if (log.isDebugEnabled()) {
+            log.debug("🎬 Adicionando filme '{}' (TMDB ID: {}) à lista ID: {}", titulo, tmdbId, lista.getId());
+        }
     }
 }
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 
 @Entity
@@ -13,6 +15,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class ListaFilmeSupabase {
     
+    private static final Logger log = LoggerFactory.getLogger(ListaFilmeSupabase.class);
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -30,6 +34,8 @@ public class ListaFilmeSupabase {
     @PrePersist
     protected void onCreate() {
         addedAt = LocalDateTime.now();
-        System.out.println("🎬 [ListaFilmeSupabase] Adicionando filme (Movie ID: " + movieId + ") à lista ID: " + favlist.getId());
+        if (log.isDebugEnabled()) {
+            log.debug("🎬 Adicionando filme (Movie ID: {}) à lista ID: {}", movieId, favlist.getId());
+        }
     }
 }
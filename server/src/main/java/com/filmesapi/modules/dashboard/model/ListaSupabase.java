@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +18,8 @@ import java.util.UUID;
 @AllArgsConstructor
 public class ListaSupabase {
     
+    private static final Logger log = LoggerFactory.getLogger(ListaSupabase.class);
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -35,6 +39,6 @@ public class ListaSupabase {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
-        System.out.println("📝 [ListaSupabase] Criando nova lista: " + listName + " para usuário: " + userId);
+        log.debug("📝 Criando nova lista: {} para usuário: {}", listName, userId);
     }
 }
@@ -1,20 +1,45 @@
 package com.filmesapi.modules.dashboard.repository;
 
+import com.filmesapi.modules.dashboard.model.Lista;
 import com.filmesapi.modules.dashboard.model.ListaFilme;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface ListaFilmeRepository extends JpaRepository<ListaFilme, Long> {
     
     List<ListaFilme> findByListaId(Long listaId);
     
+    // Paginação por chave: o índice (lista_id, id) leva direto ao ponto de continuação
+    List<ListaFilme> findByListaIdAndIdGreaterThanOrderByIdAsc(Long listaId, Long id, Limit limit);
+    
     Optional<ListaFilme> findByListaIdAndTmdbId(Long listaId, Long tmdbId);
     
     boolean existsByListaIdAndTmdbId(Long listaId, Long tmdbId);
     
     void deleteByListaIdAndTmdbId(Long listaId, Long tmdbId);
+    
+    // Operações em lote: uma consulta por conjunto de filmes, não por filme
+    @Query("SELECT f.tmdbId FROM ListaFilme f WHERE f.lista.id = :listaId AND f.tmdbId IN :tmdbIds")
+    Set<Long> findTmdbIdsExistentes(Long listaId, Collection<Long> tmdbIds);
+    
+    @Modifying
+    @Query("DELETE FROM ListaFilme f WHERE f.lista.id = :listaId AND f.tmdbId IN :tmdbIds")
+    int deleteByListaIdAndTmdbIdIn(Long listaId, Collection<Long> tmdbIds);
+    
+    @Modifying
+    @Query("UPDATE ListaFilme f SET f.lista = :destino WHERE f.lista.id = :origemId AND f.tmdbId IN :tmdbIds")
+    int moverParaLista(Long origemId, Lista destino, Collection<Long> tmdbIds);
+    
+    // Exportação: filmes de todas as listas do usuário, página a página pelo id
+    @Query("SELECT f FROM ListaFilme f JOIN FETCH f.lista l WHERE l.usuarioId = :usuarioId AND f.id > :after ORDER BY f.id")
+    List<ListaFilme> findDoUsuarioAposId(Long usuarioId, Long after, Limit limit);
 }
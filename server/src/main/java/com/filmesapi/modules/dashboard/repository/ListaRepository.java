@@ -1,10 +1,14 @@
 package com.filmesapi.modules.dashboard.repository;
 
+import com.filmesapi.modules.dashboard.dto.ListaResumoDTO;
 import com.filmesapi.modules.dashboard.model.Lista;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,8 +19,45 @@ public interface ListaRepository extends JpaRepository<Lista, Long> {
     
     Optional<Lista> findByIdAndUsuarioId(Long id, Long usuarioId);
     
-    @Query("SELECT l FROM Lista l LEFT JOIN FETCH l.filmes WHERE l.usuarioId = :usuarioId ORDER BY l.dataCriacao DESC")
-    List<Lista> findByUsuarioIdWithFilmes(Long usuarioId);
+    Optional<Lista> findByNomeAndUsuarioId(String nome, Long usuarioId);
+    
+    @Query("SELECT l.id FROM Lista l WHERE l.usuarioId = :usuarioId ORDER BY l.dataCriacao DESC")
+    List<Long> findIdsByUsuarioId(Long usuarioId);
+    
+    @Query("SELECT DISTINCT l FROM Lista l LEFT JOIN FETCH l.filmes WHERE l.id IN :ids")
+    List<Lista> findByIdInWithFilmes(Collection<Long> ids);
     
     boolean existsByNomeAndUsuarioId(String nome, Long usuarioId);
+    
+    boolean existsByIdAndUsuarioId(Long id, Long usuarioId);
+    
+    List<Lista> findByIdInAndUsuarioId(Collection<Long> ids, Long usuarioId);
+    
+    // Cartões das listas: contagem agrupada, sem carregar os filmes
+    @Query("SELECT new com.filmesapi.modules.dashboard.dto.ListaResumoDTO(" +
+           "l.id, l.nome, l.descricao, l.usuarioId, l.dataCriacao, l.dataAtualizacao, COUNT(f)) " +
+           "FROM Lista l LEFT JOIN l.filmes f WHERE l.usuarioId = :usuarioId " +
+           "GROUP BY l.id, l.nome, l.descricao, l.usuarioId, l.dataCriacao, l.dataAtualizacao " +
+           "ORDER BY l.dataCriacao DESC")
+    List<ListaResumoDTO> resumirListasDoUsuario(Long usuarioId);
+    
+    // Os últimos pôsteres adicionados de cada lista do usuário, já limitados no banco
+    @Query(value = "SELECT lista_id, poster_path FROM (" +
+                   "SELECT f.lista_id, f.poster_path, " +
+                   "ROW_NUMBER() OVER (PARTITION BY f.lista_id ORDER BY f.id DESC) AS posicao " +
+                   "FROM lista_filmes f JOIN listas l ON l.id = f.lista_id " +
+                   "WHERE l.usuario_id = :usuarioId AND f.poster_path IS NOT NULL) p " +
+                   "WHERE posicao <= :limite ORDER BY lista_id, posicao",
+           nativeQuery = true)
+    List<Object[]> primeirosPosters(Long usuarioId, int limite);
+    
+    // Quantidade, soma dos ids e soma das versões: muda quando uma lista é criada, alterada ou removida
+    @Query("SELECT CONCAT(CAST(COUNT(l) AS String), '-', CAST(COALESCE(SUM(l.id), 0) AS String), '-', CAST(COALESCE(SUM(l.versao), 0) AS String)) " +
+           "FROM Lista l WHERE l.usuarioId = :usuarioId")
+    String versaoDasListas(Long usuarioId);
+    
+    // Incremento no próprio banco, sem verificação de versão: só invalida a ETag
+    @Modifying
+    @Query("UPDATE Lista l SET l.versao = l.versao + 1, l.dataAtualizacao = :agora WHERE l.id IN :ids")
+    int incrementarVersao(Collection<Long> ids, LocalDateTime agora);
 }
@@ -5,40 +5,153 @@ import com.filmesapi.modules.dashboard.model.Lista;
 import com.filmesapi.modules.dashboard.model.ListaFilme;
 import com.filmesapi.modules.dashboard.repository.ListaFilmeRepository;
 import com.filmesapi.modules.dashboard.repository.ListaRepository;
+import com.filmesapi.modules.filmes.busca.IndiceBuscaFilmes;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ListaService {
     
+    private static final Logger log = LoggerFactory.getLogger(ListaService.class);
+    
     private final ListaRepository listaRepository;
     private final ListaFilmeRepository listaFilmeRepository;
+    private final IndiceBuscaFilmes indiceBusca;
+    
+    private static final int MAX_POSTERS_RESUMO = 10;
+    private static final int MAX_FILMES_PAGINA = 100;
+    
+    private static final String STATUS_ADICIONADO = "ADICIONADO";
+    private static final String STATUS_REMOVIDO = "REMOVIDO";
+    private static final String STATUS_MOVIDO = "MOVIDO";
+    private static final String STATUS_DUPLICADO = "DUPLICADO";
+    private static final String STATUS_JA_NO_DESTINO = "JA_NO_DESTINO";
+    private static final String STATUS_NAO_ENCONTRADO = "NAO_ENCONTRADO";
+    private static final String STATUS_INVALIDO = "INVALIDO";
+    
+    @Value("${listas.stream.lote:20}")
+    private int loteStream;
+    
+    @Value("${listas.lote.max-itens:1000}")
+    private int maxItensLote;
+    
+    /**
+     * Entrega as listas do usuário uma a uma, na ordem de criação mais recente,
+     * carregando os filmes em lotes de {@code listas.stream.lote} listas. Só um
+     * lote fica em memória por vez, mesmo para usuários com muitas listas.
+     *
+     * @return quantidade de listas entregues
+     */
+    public int transmitirListasDoUsuario(Long usuarioId, Consumer<ListaResponseDTO> destino) {
+        log.debug("🔍 Buscando listas do usuário ID: {}", usuarioId);
+        
+        List<Long> ids = listaRepository.findIdsByUsuarioId(usuarioId);
+        
+        for (int inicio = 0; inicio < ids.size(); inicio += loteStream) {
+            List<Long> lote = ids.subList(inicio, Math.min(inicio + loteStream, ids.size()));
+            Map<Long, Lista> carregadas = listaRepository.findByIdInWithFilmes(lote).stream()
+                    .collect(Collectors.toMap(Lista::getId, Function.identity()));
+            
+            for (Long id : lote) {
+                Lista lista = carregadas.get(id);
+                // Removida entre a leitura dos ids e a do lote
+                if (lista != null) {
+                    destino.accept(convertToDTO(lista));
+                }
+            }
+        }
+        
+        log.debug("✅ Encontradas {} listas", ids.size());
+        return ids.size();
+    }
     
-    public List<ListaResponseDTO> buscarListasDoUsuario(Long usuarioId) {
-        System.out.println("🔍 [ListaService] Buscando listas do usuário ID: " + usuarioId);
+    /**
+     * Listas do usuário para os cartões: totais e os últimos pôsteres de cada
+     * uma, em duas consultas independentes da quantidade de filmes.
+     */
+    public List<ListaResumoDTO> resumirListasDoUsuario(Long usuarioId, int posters) {
+        log.debug("🔍 Resumindo listas do usuário ID: {}", usuarioId);
         
-        List<Lista> listas = listaRepository.findByUsuarioIdWithFilmes(usuarioId);
+        List<ListaResumoDTO> resumos = listaRepository.resumirListasDoUsuario(usuarioId);
+        int limite = Math.max(0, Math.min(posters, MAX_POSTERS_RESUMO));
+        if (limite > 0 && !resumos.isEmpty()) {
+            Map<Long, ListaResumoDTO> porId = resumos.stream()
+                    .collect(Collectors.toMap(ListaResumoDTO::getId, Function.identity()));
+            for (Object[] linha : listaRepository.primeirosPosters(usuarioId, limite)) {
+                ListaResumoDTO resumo = porId.get(((Number) linha[0]).longValue());
+                if (resumo != null) {
+                    resumo.getPosters().add((String) linha[1]);
+                }
+            }
+        }
         
-        System.out.println("✅ [ListaService] Encontradas " + listas.size() + " listas");
+        log.debug("✅ Resumidas {} listas", resumos.size());
+        return resumos;
+    }
+    
+    /**
+     * Filmes de uma lista em ordem de adição, a partir do filme seguinte a
+     * {@code after} (id do último filme recebido).
+     */
+    public PaginaFilmesListaDTO buscarFilmesDaLista(Long usuarioId, Long listaId, Long after, int limite) {
+        log.debug("🔍 Buscando filmes da lista ID: {} após {}", listaId, after);
         
-        return listas.stream()
-                .map(this::convertToDTO)
+        if (!listaRepository.existsByIdAndUsuarioId(listaId, usuarioId)) {
+            log.warn("❌ Lista não encontrada ou não pertence ao usuário");
+            throw new RuntimeException("Lista não encontrada");
+        }
+        
+        int tamanho = Math.max(1, Math.min(limite, MAX_FILMES_PAGINA));
+        // Um a mais para saber se existe próxima página sem precisar contar
+        List<ListaFilme> filmes = listaFilmeRepository.findByListaIdAndIdGreaterThanOrderByIdAsc(
+                listaId, after != null ? after : 0L, Limit.of(tamanho + 1));
+        
+        boolean temMais = filmes.size() > tamanho;
+        List<FilmeListaDTO> pagina = filmes.stream()
+                .limit(tamanho)
+                .map(this::convertFilmeToDTO)
                 .collect(Collectors.toList());
+        Long proximo = temMais ? pagina.get(pagina.size() - 1).getId() : null;
+        
+        log.debug("✅ Retornando {} filmes", pagina.size());
+        return new PaginaFilmesListaDTO(pagina, proximo);
+    }
+    
+    /**
+     * ETag das listas do usuário, calculada só com um agregado das versões,
+     * sem carregar as listas nem os filmes.
+     */
+    public String etagDasListas(Long usuarioId) {
+        return "W/\"listas-" + usuarioId + "-" + listaRepository.versaoDasListas(usuarioId) + "\"";
     }
     
     @Transactional
     public ListaResponseDTO criarLista(Long usuarioId, CriarListaDTO dto) {
-        System.out.println("➕ [ListaService] Criando nova lista '" + dto.getNome() + "' para usuário ID: " + usuarioId);
+        log.debug("➕ Criando nova lista '{}' para usuário ID: {}", dto.getNome(), usuarioId);
         
         // Verificar se já existe lista com mesmo nome
         if (listaRepository.existsByNomeAndUsuarioId(dto.getNome(), usuarioId)) {
-            System.out.println("❌ [ListaService] Já existe uma lista com o nome: " + dto.getNome());
+            log.warn("❌ Já existe uma lista com o nome: {}", dto.getNome());
             throw new RuntimeException("Já existe uma lista com este nome");
         }
         
@@ -49,25 +162,25 @@ public class ListaService {
         
         Lista listaSalva = listaRepository.save(lista);
         
-        System.out.println("✅ [ListaService] Lista criada com sucesso - ID: " + listaSalva.getId());
+        log.debug("✅ Lista criada com sucesso - ID: {}", listaSalva.getId());
         
         return convertToDTO(listaSalva);
     }
     
     @Transactional
     public void adicionarFilmeNaLista(Long usuarioId, AdicionarFilmeDTO dto) {
-        System.out.println("➕ [ListaService] Adicionando filme '" + dto.getTitulo() + "' (TMDB: " + dto.getTmdbId() + ") à lista ID: " + dto.getListaId());
+        log.debug("➕ Adicionando filme '{}' (TMDB: {}) à lista ID: {}", dto.getTitulo(), dto.getTmdbId(), dto.getListaId());
         
         // Buscar lista e verificar se pertence ao usuário
         Lista lista = listaRepository.findByIdAndUsuarioId(dto.getListaId(), usuarioId)
                 .orElseThrow(() -> {
-                    System.out.println("❌ [ListaService] Lista não encontrada ou não pertence ao usuário");
+                    log.warn("❌ Lista não encontrada ou não pertence ao usuário");
                     return new RuntimeException("Lista não encontrada");
                 });
         
         // Verificar se o filme já está na lista
         if (listaFilmeRepository.existsByListaIdAndTmdbId(dto.getListaId(), dto.getTmdbId())) {
-            System.out.println("⚠️ [ListaService] Filme já existe na lista");
+            log.debug("⚠️ Filme já existe na lista");
             throw new RuntimeException("Filme já existe nesta lista");
         }
         
@@ -81,43 +194,226 @@ public class ListaService {
         listaFilme.setGeneros(dto.getGeneros());
         
         listaFilmeRepository.save(listaFilme);
+        // Incrementa a versão e invalida a ETag
+        listaRepository.incrementarVersao(List.of(lista.getId()), LocalDateTime.now());
+        aposCommit(() -> indiceBusca.indexarDaLista(dto.getTmdbId(), dto.getTitulo(), dto.getPosterPath(),
+                dto.getAnoLancamento(), dto.getNota(), dto.getGeneros()));
         
-        System.out.println("✅ [ListaService] Filme adicionado com sucesso à lista");
+        log.debug("✅ Filme adicionado com sucesso à lista");
     }
     
     @Transactional
     public void removerFilmeDaLista(Long usuarioId, Long listaId, Long tmdbId) {
-        System.out.println("🗑️ [ListaService] Removendo filme TMDB ID: " + tmdbId + " da lista ID: " + listaId);
+        log.debug("🗑️ Removendo filme TMDB ID: {} da lista ID: {}", tmdbId, listaId);
         
         // Verificar se a lista pertence ao usuário
-        listaRepository.findByIdAndUsuarioId(listaId, usuarioId)
+        Lista lista = listaRepository.findByIdAndUsuarioId(listaId, usuarioId)
                 .orElseThrow(() -> {
-                    System.out.println("❌ [ListaService] Lista não encontrada ou não pertence ao usuário");
+                    log.warn("❌ Lista não encontrada ou não pertence ao usuário");
                     return new RuntimeException("Lista não encontrada");
                 });
         
         listaFilmeRepository.deleteByListaIdAndTmdbId(listaId, tmdbId);
+        listaRepository.incrementarVersao(List.of(lista.getId()), LocalDateTime.now());
         
-        System.out.println("✅ [ListaService] Filme removido com sucesso da lista");
+        log.debug("✅ Filme removido com sucesso da lista");
+    }
+    
+    /**
+     * Adiciona vários filmes à lista em uma transação: uma verificação de posse,
+     * uma consulta para os já existentes e inserts agrupados em lote.
+     */
+    @Transactional
+    public ResultadoLoteDTO adicionarFilmesNaLista(Long usuarioId, AdicionarFilmesEmLoteDTO dto) {
+        List<AdicionarFilmeDTO> filmes = itensDoLote(dto.getFilmes());
+        log.debug("➕ Adicionando {} filmes à lista ID: {}", filmes.size(), dto.getListaId());
+        
+        Lista lista = listaDoUsuario(dto.getListaId(), usuarioId);
+        
+        Set<Long> tmdbIds = filmes.stream()
+                .map(AdicionarFilmeDTO::getTmdbId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> presentes = tmdbIds.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(listaFilmeRepository.findTmdbIdsExistentes(lista.getId(), tmdbIds));
+        
+        List<ResultadoItemLoteDTO> itens = new ArrayList<>(filmes.size());
+        List<ListaFilme> novos = new ArrayList<>();
+        for (AdicionarFilmeDTO filme : filmes) {
+            if (filme.getTmdbId() == null || filme.getTitulo() == null || filme.getTitulo().isBlank()) {
+                itens.add(new ResultadoItemLoteDTO(filme.getTmdbId(), STATUS_INVALIDO));
+            } else if (!presentes.add(filme.getTmdbId())) {
+                // Já estava na lista ou repetido no próprio lote
+                itens.add(new ResultadoItemLoteDTO(filme.getTmdbId(), STATUS_DUPLICADO));
+            } else {
+                ListaFilme listaFilme = new ListaFilme();
+                listaFilme.setLista(lista);
+                listaFilme.setTmdbId(filme.getTmdbId());
+                listaFilme.setTitulo(filme.getTitulo());
+                listaFilme.setPosterPath(filme.getPosterPath());
+                listaFilme.setAnoLancamento(filme.getAnoLancamento());
+                listaFilme.setNota(filme.getNota());
+                listaFilme.setGeneros(filme.getGeneros());
+                novos.add(listaFilme);
+                itens.add(new ResultadoItemLoteDTO(filme.getTmdbId(), STATUS_ADICIONADO));
+            }
+        }
+        
+        if (!novos.isEmpty()) {
+            listaFilmeRepository.saveAll(novos);
+            listaRepository.incrementarVersao(List.of(lista.getId()), LocalDateTime.now());
+            aposCommit(() -> {
+                for (ListaFilme novo : novos) {
+                    indiceBusca.indexarDaLista(novo.getTmdbId(), novo.getTitulo(), novo.getPosterPath(),
+                            novo.getAnoLancamento(), novo.getNota(), novo.getGeneros());
+                }
+            });
+        }
+        
+        log.debug("✅ {} filmes adicionados, {} ignorados", novos.size(), (filmes.size() - novos.size()));
+        return new ResultadoLoteDTO(novos.size(), filmes.size() - novos.size(), itens);
+    }
+    
+    /**
+     * Remove vários filmes da lista com um único DELETE.
+     */
+    @Transactional
+    public ResultadoLoteDTO removerFilmesDaLista(Long usuarioId, RemoverFilmesEmLoteDTO dto) {
+        List<Long> tmdbIds = itensDoLote(dto.getTmdbIds());
+        log.debug("🗑️ Removendo {} filmes da lista ID: {}", tmdbIds.size(), dto.getListaId());
+        
+        Lista lista = listaDoUsuario(dto.getListaId(), usuarioId);
+        
+        Set<Long> presentes = existentes(lista.getId(), tmdbIds);
+        if (!presentes.isEmpty()) {
+            listaFilmeRepository.deleteByListaIdAndTmdbIdIn(lista.getId(), presentes);
+            listaRepository.incrementarVersao(List.of(lista.getId()), LocalDateTime.now());
+        }
+        
+        ResultadoLoteDTO resultado = resultadoPorPresenca(tmdbIds, presentes, STATUS_REMOVIDO);
+        log.debug("✅ {} filmes removidos", resultado.getProcessados());
+        return resultado;
+    }
+    
+    /**
+     * Move vários filmes entre duas listas do usuário com um único UPDATE.
+     * Filmes que já estão na lista de destino ficam na origem.
+     */
+    @Transactional
+    public ResultadoLoteDTO moverFilmesEntreListas(Long usuarioId, MoverFilmesEmLoteDTO dto) {
+        List<Long> tmdbIds = itensDoLote(dto.getTmdbIds());
+        log.debug("🔀 Movendo {} filmes da lista ID: {} para a lista ID: {}", tmdbIds.size(), dto.getListaOrigemId(), dto.getListaDestinoId());
+        
+        if (Objects.equals(dto.getListaOrigemId(), dto.getListaDestinoId())) {
+            throw new RuntimeException("Listas de origem e destino são iguais");
+        }
+        
+        // As duas listas verificadas em uma consulta
+        Map<Long, Lista> listas = listaRepository.findByIdInAndUsuarioId(
+                        List.of(dto.getListaOrigemId(), dto.getListaDestinoId()), usuarioId).stream()
+                .collect(Collectors.toMap(Lista::getId, Function.identity()));
+        Lista origem = listas.get(dto.getListaOrigemId());
+        Lista destino = listas.get(dto.getListaDestinoId());
+        if (origem == null || destino == null) {
+            log.warn("❌ Lista não encontrada ou não pertence ao usuário");
+            throw new RuntimeException("Lista não encontrada");
+        }
+        
+        Set<Long> naOrigem = existentes(origem.getId(), tmdbIds);
+        Set<Long> noDestino = existentes(destino.getId(), naOrigem);
+        Set<Long> movidos = new HashSet<>(naOrigem);
+        movidos.removeAll(noDestino);
+        
+        if (!movidos.isEmpty()) {
+            listaFilmeRepository.moverParaLista(origem.getId(), destino, movidos);
+            // As duas versões em um único UPDATE
+            listaRepository.incrementarVersao(List.of(origem.getId(), destino.getId()), LocalDateTime.now());
+        }
+        
+        List<ResultadoItemLoteDTO> itens = new ArrayList<>(tmdbIds.size());
+        for (Long tmdbId : tmdbIds) {
+            String status = movidos.contains(tmdbId) ? STATUS_MOVIDO
+                    : noDestino.contains(tmdbId) ? STATUS_JA_NO_DESTINO
+                    : STATUS_NAO_ENCONTRADO;
+            itens.add(new ResultadoItemLoteDTO(tmdbId, status));
+        }
+        
+        log.debug("✅ {} filmes movidos", movidos.size());
+        return new ResultadoLoteDTO(movidos.size(), tmdbIds.size() - movidos.size(), itens);
     }
     
     @Transactional
     public void deletarLista(Long usuarioId, Long listaId) {
-        System.out.println("🗑️ [ListaService] Deletando lista ID: " + listaId);
+        log.debug("🗑️ Deletando lista ID: {}", listaId);
         
         Lista lista = listaRepository.findByIdAndUsuarioId(listaId, usuarioId)
                 .orElseThrow(() -> {
-                    System.out.println("❌ [ListaService] Lista não encontrada ou não pertence ao usuário");
+                    log.warn("❌ Lista não encontrada ou não pertence ao usuário");
                     return new RuntimeException("Lista não encontrada");
                 });
         
         Long persistedId = Objects.requireNonNull(lista.getId(), "Lista sem ID persistido");
         listaRepository.deleteById(persistedId);
         
-        System.out.println("✅ [ListaService] Lista deletada com sucesso");
+        log.debug("✅ Lista deletada com sucesso");
+    }
+    
+    // O índice de busca fica fora da transação: só recebe o filme se a adição for confirmada
+    private static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+    
+    private Lista listaDoUsuario(Long listaId, Long usuarioId) {
+        return listaRepository.findByIdAndUsuarioId(listaId, usuarioId)
+                .orElseThrow(() -> {
+                    log.warn("❌ Lista não encontrada ou não pertence ao usuário");
+                    return new RuntimeException("Lista não encontrada");
+                });
+    }
+    
+    private <T> List<T> itensDoLote(List<T> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new RuntimeException("Nenhum filme informado");
+        }
+        if (itens.size() > maxItensLote) {
+            throw new RuntimeException("Máximo de " + maxItensLote + " filmes por operação");
+        }
+        return itens;
+    }
+    
+    private Set<Long> existentes(Long listaId, Collection<Long> tmdbIds) {
+        Set<Long> distintos = tmdbIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        return distintos.isEmpty() ? Set.of() : listaFilmeRepository.findTmdbIdsExistentes(listaId, distintos);
+    }
+    
+    private ResultadoLoteDTO resultadoPorPresenca(List<Long> tmdbIds, Set<Long> presentes, String statusPresente) {
+        List<ResultadoItemLoteDTO> itens = new ArrayList<>(tmdbIds.size());
+        Set<Long> vistos = new HashSet<>();
+        int processados = 0;
+        for (Long tmdbId : tmdbIds) {
+            // Repetições no lote contam uma vez só
+            if (presentes.contains(tmdbId) && vistos.add(tmdbId)) {
+                itens.add(new ResultadoItemLoteDTO(tmdbId, statusPresente));
+                processados++;
+            } else {
+                itens.add(new ResultadoItemLoteDTO(tmdbId, presentes.contains(tmdbId) ? STATUS_DUPLICADO : STATUS_NAO_ENCONTRADO));
+            }
+        }
+        return new ResultadoLoteDTO(processados, tmdbIds.size() - processados, itens);
     }
     
-    private ListaResponseDTO convertToDTO(Lista lista) {
+    // As conversões ficam visíveis no pacote para os benchmarks (server/benchmarks)
+    ListaResponseDTO convertToDTO(Lista lista) {
         ListaResponseDTO dto = new ListaResponseDTO();
         dto.setId(lista.getId());
         dto.setNome(lista.getNome());
@@ -136,7 +432,7 @@ public class ListaService {
         return dto;
     }
     
-    private FilmeListaDTO convertFilmeToDTO(ListaFilme listaFilme) {
+    FilmeListaDTO convertFilmeToDTO(ListaFilme listaFilme) {
         FilmeListaDTO dto = new FilmeListaDTO();
         dto.setId(listaFilme.getId());
         dto.setTmdbId(listaFilme.getTmdbId());
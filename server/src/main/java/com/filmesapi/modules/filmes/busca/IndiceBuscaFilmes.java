@@ -0,0 +1,357 @@
+package com.filmesapi.modules.filmes.busca;
+
+import com.filmesapi.modules.dashboard.model.ListaFilme;
+import com.filmesapi.modules.dashboard.repository.ListaFilmeRepository;
+import com.filmesapi.modules.filmes.cache.CachedResponse;
+import com.filmesapi.modules.filmes.dto.TMDBGenreDTO;
+import com.filmesapi.modules.filmes.dto.TMDBGenreListDTO;
+import com.filmesapi.modules.filmes.dto.TMDBMovieDetailsDTO;
+import com.filmesapi.modules.filmes.dto.TMDBMovieSummaryDTO;
+import com.filmesapi.modules.filmes.dto.TMDBPageDTO;
+import com.filmesapi.modules.filmes.model.FilmeUsuario;
+import com.filmesapi.modules.filmes.repository.FilmeUsuarioRepository;
+import com.filmesapi.modules.filmes.service.TMDBJsonParser;
+import com.filmesapi.modules.filmes.service.TMDBRespostaEvent;
+import com.filmesapi.modules.filmes.service.TMDBService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Índice invertido em memória sobre os filmes que o servidor já viu: respostas
+ * do TMDB (listas, buscas, detalhes) e filmes salvos em listas de usuários.
+ * Indexa título, título original e gêneros com acentos removidos e responde
+ * buscas por palavra inteira, prefixo (última palavra digitada) e com erros
+ * de digitação, sem sair do processo.
+ *
+ * Leituras não bloqueiam; escritas são serializadas no próprio índice.
+ */
+@Component
+public class IndiceBuscaFilmes {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBuscaFilmes.class);
+
+    private static final int PESO_TITULO = 3;
+    private static final int PESO_TITULO_ORIGINAL = 2;
+    private static final int PESO_GENERO = 1;
+
+    private static final double FATOR_EXATO = 1.0;
+    private static final double FATOR_PREFIXO = 0.8;
+    private static final double FATOR_APROXIMADO = 0.6;
+
+    // Limita o custo de prefixos muito curtos ("a", "s")
+    private static final int MAX_TERMOS_POR_PREFIXO = 500;
+    private static final int TAMANHO_LOTE_CARGA = 500;
+
+    private final TMDBJsonParser jsonParser;
+    private final TMDBService tmdbService;
+    private final ListaFilmeRepository listaFilmeRepository;
+    private final FilmeUsuarioRepository filmeUsuarioRepository;
+    private final IndiceSugestoes sugestoes;
+    private final boolean enabled;
+    private final int maxDocumentos;
+
+    private final ConcurrentMap<Long, Documento> documentos = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, ConcurrentMap<Long, Integer>> termos = new ConcurrentSkipListMap<>();
+    private volatile Map<Integer, String> generos = Map.of();
+
+    public IndiceBuscaFilmes(
+            TMDBJsonParser jsonParser,
+            TMDBService tmdbService,
+            ListaFilmeRepository listaFilmeRepository,
+            FilmeUsuarioRepository filmeUsuarioRepository,
+            IndiceSugestoes sugestoes,
+            @Value("${busca.local.enabled:true}") boolean enabled,
+            @Value("${busca.local.max-documents:50000}") int maxDocumentos) {
+        this.jsonParser = jsonParser;
+        this.tmdbService = tmdbService;
+        this.listaFilmeRepository = listaFilmeRepository;
+        this.filmeUsuarioRepository = filmeUsuarioRepository;
+        this.sugestoes = sugestoes;
+        this.enabled = enabled;
+        this.maxDocumentos = maxDocumentos;
+    }
+
+    /**
+     * Até {@code limite} filmes que contêm todas as palavras da consulta,
+     * do mais relevante para o menos relevante.
+     */
+    public List<TMDBMovieSummaryDTO> buscar(String consulta, int limite) {
+        if (!enabled || documentos.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> palavras = TextoBusca.termosDaConsulta(consulta);
+        if (palavras.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Double> pontuacao = null;
+        for (int i = 0; i < palavras.size(); i++) {
+            Map<Long, Double> daPalavra = pontuar(palavras.get(i), i == palavras.size() - 1);
+            if (pontuacao == null) {
+                pontuacao = daPalavra;
+            } else {
+                pontuacao.keySet().retainAll(daPalavra.keySet());
+                pontuacao.replaceAll((id, pontos) -> pontos + daPalavra.get(id));
+            }
+            if (pontuacao.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        return pontuacao.entrySet().stream()
+                .map(entrada -> Map.entry(documentos.get(entrada.getKey()), entrada.getValue()))
+                .filter(entrada -> entrada.getKey() != null)
+                .sorted(Comparator.<Map.Entry<Documento, Double>>comparingDouble(Map.Entry::getValue).reversed()
+                        .thenComparing(entrada -> popularidade(entrada.getKey()), Comparator.reverseOrder()))
+                .limit(limite)
+                .map(entrada -> entrada.getKey().filme)
+                .toList();
+    }
+
+    public int getDocumentos() {
+        return documentos.size();
+    }
+
+    public int getTermos() {
+        return termos.size();
+    }
+
+    /**
+     * Indexa um filme salvo em uma lista de usuário. Não sobrescreve dados
+     * mais completos vindos do TMDB.
+     */
+    public void indexarDaLista(Long tmdbId, String titulo, String posterPath, String anoLancamento, Double nota, String generosTexto) {
+        if (!enabled || tmdbId == null || titulo == null) {
+            return;
+        }
+        TMDBMovieSummaryDTO filme = new TMDBMovieSummaryDTO(tmdbId, titulo, null, posterPath, null, anoLancamento, nota, null, null);
+        indexar(filme, generosTexto, false);
+    }
+
+    @EventListener
+    public void onRespostaTMDB(TMDBRespostaEvent evento) {
+        if (!enabled) {
+            return;
+        }
+        // O evento chega no event loop do cliente HTTP; a conversão e a indexação rodam fora dele
+        Schedulers.boundedElastic().schedule(() -> {
+            try {
+                indexarResposta(evento.getResposta());
+            } catch (RuntimeException e) {
+                log.debug("Resposta do TMDB ({}) não indexada: {}", evento.getEndpoint(), e.toString());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarInicial() {
+        if (!enabled) {
+            return;
+        }
+        Schedulers.boundedElastic().schedule(() -> {
+            try {
+                TMDBGenreListDTO lista = tmdbService.getGenres().block(Duration.ofSeconds(10));
+                if (lista != null) {
+                    atualizarGeneros(lista.getGenres());
+                }
+            } catch (RuntimeException e) {
+                log.debug("Lista de gêneros indisponível para o índice de busca: {}", e.toString());
+            }
+
+            carregarEmLotes(listaFilmeRepository::findAll, (ListaFilme filme) -> indexarDaLista(
+                    filme.getTmdbId(), filme.getTitulo(), filme.getPosterPath(), filme.getAnoLancamento(), filme.getNota(), filme.getGeneros()));
+            carregarEmLotes(filmeUsuarioRepository::findAll, (FilmeUsuario filme) -> indexarDaLista(
+                    filme.getTmdbId(), filme.getTitulo(), filme.getPosterPath(), filme.getAnoLancamento(), null, filme.getGeneros()));
+
+            log.info("Índice de busca local carregado: {} filmes, {} termos", documentos.size(), termos.size());
+        });
+    }
+
+    private void indexarResposta(CachedResponse resposta) {
+        switch (resposta.getEndpoint()) {
+            case SEARCH, POPULAR, TRENDING, NOW_PLAYING, GENRE -> {
+                TMDBPageDTO pagina = resposta.projetar(TMDBPageDTO.class, jsonParser::parse);
+                if (pagina.getResults() != null) {
+                    pagina.getResults().forEach(filme -> indexar(filme, null, true));
+                }
+            }
+            case DETAILS -> indexar(resumo(resposta.projetar(TMDBMovieDetailsDTO.class, jsonParser::parse)), null, true);
+            case GENRES -> atualizarGeneros(resposta.projetar(TMDBGenreListDTO.class, jsonParser::parse).getGenres());
+        }
+    }
+
+    private synchronized void indexar(TMDBMovieSummaryDTO filme, String generosTexto, boolean sobrescrever) {
+        if (filme == null || filme.getId() == null || filme.getTitle() == null) {
+            return;
+        }
+
+        Documento existente = documentos.get(filme.getId());
+        if (existente != null && !sobrescrever) {
+            return;
+        }
+        if (existente == null && documentos.size() >= maxDocumentos) {
+            return;
+        }
+
+        Documento documento = new Documento(filme, generosTexto);
+        remover(existente);
+        documento.postagens = postagens(documento);
+        documento.postagens.forEach((termo, peso) ->
+                termos.computeIfAbsent(termo, t -> new ConcurrentHashMap<>()).put(filme.getId(), peso));
+        documentos.put(filme.getId(), documento);
+        sugestoes.registrar(filme);
+    }
+
+    private synchronized void atualizarGeneros(List<TMDBGenreDTO> lista) {
+        if (lista == null || lista.isEmpty()) {
+            return;
+        }
+        generos = lista.stream()
+                .filter(genero -> genero.getId() != null && genero.getName() != null)
+                .collect(Collectors.toUnmodifiableMap(TMDBGenreDTO::getId, TMDBGenreDTO::getName, (a, b) -> a));
+
+        // Documentos indexados antes da lista de gêneros ganham os termos de gênero agora
+        for (Documento documento : new ArrayList<>(documentos.values())) {
+            indexar(documento.filme, documento.generosTexto, true);
+        }
+    }
+
+    private void remover(Documento documento) {
+        if (documento == null) {
+            return;
+        }
+        Long id = documento.filme.getId();
+        documento.postagens.keySet().forEach(termo -> termos.computeIfPresent(termo, (t, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        }));
+    }
+
+    private Map<String, Integer> postagens(Documento documento) {
+        Map<String, Integer> postagens = new HashMap<>();
+        adicionar(postagens, TextoBusca.termos(documento.filme.getTitle()), PESO_TITULO);
+        adicionar(postagens, TextoBusca.termos(documento.filme.getOriginalTitle()), PESO_TITULO_ORIGINAL);
+        adicionar(postagens, TextoBusca.termos(documento.generosTexto), PESO_GENERO);
+        if (documento.filme.getGenreIds() != null) {
+            Map<Integer, String> nomes = generos;
+            documento.filme.getGenreIds().stream()
+                    .map(nomes::get)
+                    .filter(Objects::nonNull)
+                    .forEach(nome -> adicionar(postagens, TextoBusca.termos(nome), PESO_GENERO));
+        }
+        return postagens;
+    }
+
+    private static void adicionar(Map<String, Integer> postagens, List<String> palavras, int peso) {
+        for (String palavra : palavras) {
+            postagens.merge(palavra, peso, Math::max);
+        }
+    }
+
+    private Map<Long, Double> pontuar(String palavra, boolean aceitaPrefixo) {
+        Map<Long, Double> pontuacao = new HashMap<>();
+
+        somar(pontuacao, termos.get(palavra), FATOR_EXATO);
+
+        if (aceitaPrefixo) {
+            int vistos = 0;
+            for (Map.Entry<String, ConcurrentMap<Long, Integer>> entrada
+                    : termos.subMap(palavra, false, palavra + Character.MAX_VALUE, false).entrySet()) {
+                if (++vistos > MAX_TERMOS_POR_PREFIXO) {
+                    break;
+                }
+                somar(pontuacao, entrada.getValue(), FATOR_PREFIXO);
+            }
+        }
+
+        int tolerancia = palavra.length() >= 8 ? 2 : palavra.length() >= 4 ? 1 : 0;
+        if (tolerancia > 0) {
+            String inicial = palavra.substring(0, 1);
+            for (Map.Entry<String, ConcurrentMap<Long, Integer>> entrada
+                    : termos.subMap(inicial, true, inicial + Character.MAX_VALUE, false).entrySet()) {
+                String termo = entrada.getKey();
+                if (!termo.equals(palavra) && TextoBusca.distancia(palavra, termo, tolerancia) <= tolerancia) {
+                    somar(pontuacao, entrada.getValue(), FATOR_APROXIMADO);
+                }
+            }
+        }
+        return pontuacao;
+    }
+
+    // Um documento vale pelo melhor casamento da palavra, não pela soma de todos
+    private static void somar(Map<Long, Double> pontuacao, Map<Long, Integer> ids, double fator) {
+        if (ids == null) {
+            return;
+        }
+        ids.forEach((id, peso) -> pontuacao.merge(id, peso * fator, Math::max));
+    }
+
+    private static double popularidade(Documento documento) {
+        Double popularidade = documento.filme.getPopularity();
+        return popularidade != null ? popularidade : 0;
+    }
+
+    private static TMDBMovieSummaryDTO resumo(TMDBMovieDetailsDTO detalhes) {
+        List<Integer> generoIds = detalhes.getGenres() == null ? null : detalhes.getGenres().stream()
+                .map(TMDBGenreDTO::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        return new TMDBMovieSummaryDTO(
+                detalhes.getId(),
+                detalhes.getTitle(),
+                detalhes.getOriginalTitle(),
+                detalhes.getPosterPath(),
+                detalhes.getBackdropPath(),
+                detalhes.getReleaseDate(),
+                detalhes.getVoteAverage(),
+                detalhes.getPopularity(),
+                generoIds);
+    }
+
+    private <T> void carregarEmLotes(Function<Pageable, Page<T>> consulta, Consumer<T> indexador) {
+        try {
+            Page<T> pagina = consulta.apply(PageRequest.of(0, TAMANHO_LOTE_CARGA));
+            pagina.forEach(indexador);
+            while (pagina.hasNext()) {
+                pagina = consulta.apply(pagina.nextPageable());
+                pagina.forEach(indexador);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao carregar filmes salvos no índice de busca: {}", e.toString());
+        }
+    }
+
+    private static class Documento {
+        private final TMDBMovieSummaryDTO filme;
+        private final String generosTexto;
+        private Map<String, Integer> postagens = Map.of();
+
+        private Documento(TMDBMovieSummaryDTO filme, String generosTexto) {
+            this.filme = filme;
+            this.generosTexto = generosTexto;
+        }
+    }
+}
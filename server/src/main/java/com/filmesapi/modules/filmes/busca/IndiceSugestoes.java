@@ -0,0 +1,319 @@
+package com.filmesapi.modules.filmes.busca;
+
+import com.filmesapi.modules.filmes.dto.SugestaoDTO;
+import com.filmesapi.modules.filmes.dto.TMDBMovieSummaryDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Estrutura de autocompletar por prefixo. Cada título gera chaves normalizadas
+ * (o título inteiro e o trecho a partir de cada palavra), guardadas em um
+ * array ordenado; a consulta é uma busca binária pela faixa do prefixo seguida
+ * de um top-N por popularidade. Prefixos de uma e duas letras têm o top-N
+ * pré-calculado.
+ *
+ * O snapshot é imutável. Títulos novos entram numa fila e, a cada
+ * {@code sugestoes.rebuild-delay}, são intercalados ao array já ordenado,
+ * sem reordenar tudo.
+ */
+@Component
+public class IndiceSugestoes {
+
+    private static final int MAX_SUGESTOES = 20;
+    private static final int MAX_CHAVES_POR_FILME = 6;
+    // Prefixos até este tamanho têm resposta pronta no snapshot
+    private static final int TAMANHO_PREFIXO_PRONTO = 2;
+    private static final int MAX_VARREDURA = 4096;
+
+    private final boolean enabled;
+    private final long atrasoReconstrucaoMillis;
+    private final int maxFilmes;
+
+    private volatile Snapshot atual = Snapshot.VAZIO;
+    private final Map<Long, Entrada> pendentes = new ConcurrentHashMap<>();
+    private final AtomicBoolean reconstrucaoAgendada = new AtomicBoolean();
+    // Duas reconstruções sobrepostas (uma agendada enquanto a outra ainda intercala)
+    // leriam o mesmo snapshot e a última troca descartaria o lote da outra
+    private final Object trocaSnapshot = new Object();
+
+    public IndiceSugestoes(
+            @Value("${busca.local.enabled:true}") boolean enabled,
+            @Value("${sugestoes.rebuild-delay:2s}") Duration atrasoReconstrucao,
+            @Value("${busca.local.max-documents:50000}") int maxFilmes) {
+        this.enabled = enabled;
+        this.atrasoReconstrucaoMillis = atrasoReconstrucao.toMillis();
+        this.maxFilmes = maxFilmes;
+    }
+
+    public List<SugestaoDTO> sugerir(String prefixo, int limite) {
+        String chave = normalizar(prefixo);
+        if (!enabled || chave.isEmpty()) {
+            return List.of();
+        }
+        return atual.sugerir(chave, Math.max(1, Math.min(limite, MAX_SUGESTOES)));
+    }
+
+    public int getFilmes() {
+        return atual.filmes.length;
+    }
+
+    /**
+     * Enfileira o filme para a próxima reconstrução. Chamado pelo índice de
+     * busca sempre que um filme é indexado ou atualizado.
+     */
+    void registrar(TMDBMovieSummaryDTO filme) {
+        if (!enabled || filme.getId() == null || filme.getTitle() == null) {
+            return;
+        }
+        SugestaoDTO sugestao = new SugestaoDTO(filme.getId(), filme.getTitle(), filme.getReleaseDate(), filme.getPosterPath());
+        double popularidade = filme.getPopularity() != null ? filme.getPopularity() : 0;
+        pendentes.put(filme.getId(), new Entrada(sugestao, filme.getOriginalTitle(), popularidade));
+
+        if (reconstrucaoAgendada.compareAndSet(false, true)) {
+            Schedulers.parallel().schedule(this::reconstruir, atrasoReconstrucaoMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void reconstruir() {
+        reconstrucaoAgendada.set(false);
+        if (pendentes.isEmpty()) {
+            return;
+        }
+        synchronized (trocaSnapshot) {
+            Map<Long, Entrada> lote = new HashMap<>();
+            for (Long id : new ArrayList<>(pendentes.keySet())) {
+                Entrada entrada = pendentes.remove(id);
+                if (entrada != null) {
+                    lote.put(id, entrada);
+                }
+            }
+            if (!lote.isEmpty()) {
+                atual = atual.intercalar(lote, maxFilmes);
+            }
+        }
+    }
+
+    private static String normalizar(String texto) {
+        return String.join(" ", TextoBusca.termos(texto));
+    }
+
+    private static class Entrada {
+        private final SugestaoDTO sugestao;
+        private final String tituloOriginal;
+        private final double popularidade;
+
+        private Entrada(SugestaoDTO sugestao, String tituloOriginal, double popularidade) {
+            this.sugestao = sugestao;
+            this.tituloOriginal = tituloOriginal;
+            this.popularidade = popularidade;
+        }
+    }
+
+    private static final class Snapshot {
+
+        private static final Snapshot VAZIO = new Snapshot(new String[0], new int[0], new SugestaoDTO[0], new double[0]);
+
+        // Chaves ordenadas e, para cada uma, o índice do filme em 'filmes'
+        private final String[] chaves;
+        private final int[] filmeDaChave;
+        private final SugestaoDTO[] filmes;
+        private final double[] popularidades;
+        private final Map<String, List<SugestaoDTO>> prontos;
+
+        private Snapshot(String[] chaves, int[] filmeDaChave, SugestaoDTO[] filmes, double[] popularidades) {
+            this.chaves = chaves;
+            this.filmeDaChave = filmeDaChave;
+            this.filmes = filmes;
+            this.popularidades = popularidades;
+            this.prontos = calcularProntos();
+        }
+
+        List<SugestaoDTO> sugerir(String prefixo, int limite) {
+            if (prefixo.length() <= TAMANHO_PREFIXO_PRONTO) {
+                List<SugestaoDTO> pronto = prontos.get(prefixo);
+                if (pronto == null) {
+                    return List.of();
+                }
+                return pronto.size() <= limite ? pronto : pronto.subList(0, limite);
+            }
+
+            int inicio = primeiraChaveComPrefixo(prefixo);
+            int[] melhores = new int[limite];
+            int encontrados = topN(prefixo, inicio, Math.min(chaves.length, inicio + MAX_VARREDURA), melhores);
+            SugestaoDTO[] resultado = new SugestaoDTO[encontrados];
+            for (int i = 0; i < encontrados; i++) {
+                resultado[i] = filmes[melhores[i]];
+            }
+            return Arrays.asList(resultado);
+        }
+
+        // Seleção por inserção num array do tamanho do limite, sem coleções intermediárias
+        private int topN(String prefixo, int inicio, int fim, int[] melhores) {
+            int encontrados = 0;
+            for (int i = inicio; i < fim && chaves[i].startsWith(prefixo); i++) {
+                int filme = filmeDaChave[i];
+                if (contem(melhores, encontrados, filme)) {
+                    continue;
+                }
+                double popularidade = popularidades[filme];
+                if (encontrados == melhores.length && popularidade <= popularidades[melhores[encontrados - 1]]) {
+                    continue;
+                }
+                int posicao = encontrados < melhores.length ? encontrados++ : encontrados - 1;
+                while (posicao > 0 && popularidades[melhores[posicao - 1]] < popularidade) {
+                    melhores[posicao] = melhores[posicao - 1];
+                    posicao--;
+                }
+                melhores[posicao] = filme;
+            }
+            return encontrados;
+        }
+
+        private int primeiraChaveComPrefixo(String prefixo) {
+            int indice = Arrays.binarySearch(chaves, prefixo);
+            return indice >= 0 ? indice : -indice - 1;
+        }
+
+        private Map<String, List<SugestaoDTO>> calcularProntos() {
+            Map<String, List<SugestaoDTO>> resultado = new HashMap<>();
+            int[] melhores = new int[MAX_SUGESTOES];
+            for (int i = 0; i < chaves.length; i++) {
+                for (int tamanho = 1; tamanho <= TAMANHO_PREFIXO_PRONTO && tamanho <= chaves[i].length(); tamanho++) {
+                    String prefixo = chaves[i].substring(0, tamanho);
+                    if (resultado.containsKey(prefixo)) {
+                        continue;
+                    }
+                    // Aqui a faixa é varrida inteira: prefixos curtos cobrem boa parte do índice
+                    int encontrados = topN(prefixo, primeiraChaveComPrefixo(prefixo), chaves.length, melhores);
+                    SugestaoDTO[] pronto = new SugestaoDTO[encontrados];
+                    for (int j = 0; j < encontrados; j++) {
+                        pronto[j] = filmes[melhores[j]];
+                    }
+                    resultado.put(prefixo, List.of(pronto));
+                }
+            }
+            return resultado;
+        }
+
+        /**
+         * Novo snapshot com o lote aplicado: filmes do lote substituem os
+         * antigos e suas chaves (já ordenadas) são intercaladas às existentes.
+         * O limite de filmes só barra filmes novos; um filme atualizado volta
+         * para a vaga que já ocupava.
+         */
+        Snapshot intercalar(Map<Long, Entrada> lote, int maxFilmes) {
+            List<SugestaoDTO> novosFilmes = new ArrayList<>(filmes.length + lote.size());
+            double[] novasPopularidades = new double[filmes.length + lote.size()];
+            int[] remapeamento = new int[filmes.length];
+            Set<Long> atualizados = new HashSet<>();
+            for (int i = 0; i < filmes.length; i++) {
+                if (lote.containsKey(filmes[i].getId())) {
+                    remapeamento[i] = -1;
+                    atualizados.add(filmes[i].getId());
+                } else {
+                    remapeamento[i] = novosFilmes.size();
+                    novasPopularidades[novosFilmes.size()] = popularidades[i];
+                    novosFilmes.add(filmes[i]);
+                }
+            }
+
+            List<ChaveNova> adicionadas = new ArrayList<>();
+            int vagasNovos = maxFilmes - novosFilmes.size() - atualizados.size();
+            for (Map.Entry<Long, Entrada> item : lote.entrySet()) {
+                if (!atualizados.contains(item.getKey())) {
+                    if (vagasNovos <= 0) {
+                        continue;
+                    }
+                    vagasNovos--;
+                }
+                Entrada entrada = item.getValue();
+                int indice = novosFilmes.size();
+                novosFilmes.add(entrada.sugestao);
+                novasPopularidades[indice] = entrada.popularidade;
+                for (String chave : chavesDo(entrada)) {
+                    adicionadas.add(new ChaveNova(chave, indice));
+                }
+            }
+            adicionadas.sort((a, b) -> a.chave.compareTo(b.chave));
+
+            int total = 0;
+            String[] novasChaves = new String[chaves.length + adicionadas.size()];
+            int[] novoFilmeDaChave = new int[novasChaves.length];
+            int i = 0;
+            int j = 0;
+            while (i < chaves.length || j < adicionadas.size()) {
+                if (i < chaves.length && remapeamento[filmeDaChave[i]] < 0) {
+                    i++;
+                    continue;
+                }
+                boolean usarExistente = j >= adicionadas.size()
+                        || (i < chaves.length && chaves[i].compareTo(adicionadas.get(j).chave) <= 0);
+                if (usarExistente) {
+                    novasChaves[total] = chaves[i];
+                    novoFilmeDaChave[total++] = remapeamento[filmeDaChave[i++]];
+                } else {
+                    ChaveNova nova = adicionadas.get(j++);
+                    novasChaves[total] = nova.chave;
+                    novoFilmeDaChave[total++] = nova.filme;
+                }
+            }
+
+            return new Snapshot(
+                    Arrays.copyOf(novasChaves, total),
+                    Arrays.copyOf(novoFilmeDaChave, total),
+                    novosFilmes.toArray(new SugestaoDTO[0]),
+                    Arrays.copyOf(novasPopularidades, novosFilmes.size()));
+        }
+
+        // Título inteiro e o trecho a partir de cada palavra, para "paulo" achar "São Paulo"
+        private static List<String> chavesDo(Entrada entrada) {
+            List<String> chaves = new ArrayList<>();
+            adicionarSufixos(chaves, TextoBusca.termos(entrada.sugestao.getTitle()));
+            if (entrada.tituloOriginal != null) {
+                adicionarSufixos(chaves, TextoBusca.termos(entrada.tituloOriginal));
+            }
+            return chaves;
+        }
+
+        private static void adicionarSufixos(List<String> chaves, List<String> palavras) {
+            for (int inicio = 0; inicio < palavras.size() && chaves.size() < MAX_CHAVES_POR_FILME; inicio++) {
+                String chave = String.join(" ", palavras.subList(inicio, palavras.size()));
+                if (!chaves.contains(chave)) {
+                    chaves.add(chave);
+                }
+            }
+        }
+
+        private static boolean contem(int[] valores, int quantidade, int valor) {
+            for (int i = 0; i < quantidade; i++) {
+                if (valores[i] == valor) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class ChaveNova {
+        private final String chave;
+        private final int filme;
+
+        private ChaveNova(String chave, int filme) {
+            this.chave = chave;
+            this.filme = filme;
+        }
+    }
+}
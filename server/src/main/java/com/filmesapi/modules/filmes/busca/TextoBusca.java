@@ -0,0 +1,89 @@
+package com.filmesapi.modules.filmes.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de texto usada pelo índice de busca: minúsculas, sem acentos
+ * ("ação" e "acao" viram o mesmo termo) e quebrado em palavras.
+ */
+final class TextoBusca {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Palavras que não ajudam a distinguir títulos; ignoradas na consulta
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "de", "da", "do", "das", "dos", "e", "em", "na", "no",
+            "um", "uma", "the", "of", "and");
+
+    private TextoBusca() {
+    }
+
+    static List<String> termos(String texto) {
+        List<String> termos = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return termos;
+        }
+        String normalizado = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String termo : SEPARADORES.split(normalizado)) {
+            if (!termo.isEmpty()) {
+                termos.add(termo);
+            }
+        }
+        return termos;
+    }
+
+    /**
+     * Termos de uma consulta sem stopwords, a menos que a consulta só tenha
+     * stopwords ("o", "it").
+     */
+    static List<String> termosDaConsulta(String consulta) {
+        List<String> termos = termos(consulta);
+        List<String> relevantes = termos.stream().filter(termo -> !STOPWORDS.contains(termo)).toList();
+        return relevantes.isEmpty() ? termos : relevantes;
+    }
+
+    /**
+     * Distância de edição (com transposição de letras vizinhas) limitada:
+     * retorna {@code limite + 1} assim que a distância passa do limite.
+     */
+    static int distancia(String a, String b, int limite) {
+        if (Math.abs(a.length() - b.length()) > limite) {
+            return limite + 1;
+        }
+
+        int[] anteriorAnterior = new int[b.length() + 1];
+        int[] anterior = new int[b.length() + 1];
+        int[] atual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            atual[0] = i;
+            int menorDaLinha = atual[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int custo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                atual[j] = Math.min(Math.min(atual[j - 1] + 1, anterior[j] + 1), anterior[j - 1] + custo);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    atual[j] = Math.min(atual[j], anteriorAnterior[j - 2] + 1);
+                }
+                menorDaLinha = Math.min(menorDaLinha, atual[j]);
+            }
+            if (menorDaLinha > limite) {
+                return limite + 1;
+            }
+            int[] reciclado = anteriorAnterior;
+            anteriorAnterior = anterior;
+            anterior = atual;
+            atual = reciclado;
+        }
+        return anterior[b.length()];
+    }
+}
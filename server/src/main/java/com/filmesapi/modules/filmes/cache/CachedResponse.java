@@ -0,0 +1,59 @@
+package com.filmesapi.modules.filmes.cache;
+
+import com.filmesapi.modules.filmes.service.TMDBEndpoint;
+import lombok.Getter;
+
+import java.util.function.BiFunction;
+import java.util.zip.CRC32C;
+
+@Getter
+public class CachedResponse {
+    private final TMDBEndpoint endpoint;
+    // JSON em UTF-8 exatamente como veio do TMDB, devolvido sem decodificar
+    private final byte[] body;
+    private final long armazenadoEm;
+    private final long expiraEm;
+
+    // Versão tipada do corpo, calculada uma vez por entrada e reaproveitada
+    @Getter(lombok.AccessLevel.NONE)
+    private volatile Object projecao;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private volatile String etag;
+
+    public CachedResponse(TMDBEndpoint endpoint, byte[] body, long armazenadoEm, long expiraEm) {
+        this.endpoint = endpoint;
+        this.body = body;
+        this.armazenadoEm = armazenadoEm;
+        this.expiraEm = expiraEm;
+    }
+
+    public boolean isExpirado(long agora) {
+        return agora >= expiraEm;
+    }
+
+    /**
+     * ETag do corpo (CRC32C e tamanho), calculado uma vez por entrada. Sai
+     * como ETag fraca porque o Tomcat não comprime respostas com ETag forte.
+     */
+    public String getEtag() {
+        String atual = etag;
+        if (atual == null) {
+            CRC32C crc = new CRC32C();
+            crc.update(body);
+            atual = "W/\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(body.length) + "\"";
+            etag = atual;
+        }
+        return atual;
+    }
+
+    public <T> T projetar(Class<T> tipo, BiFunction<byte[], Class<T>, T> parser) {
+        Object atual = projecao;
+        if (tipo.isInstance(atual)) {
+            return tipo.cast(atual);
+        }
+        T convertido = parser.apply(body, tipo);
+        projecao = convertido;
+        return convertido;
+    }
+}
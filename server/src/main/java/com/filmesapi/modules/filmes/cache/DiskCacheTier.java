@@ -0,0 +1,128 @@
+package com.filmesapi.modules.filmes.cache;
+
+import com.filmesapi.modules.filmes.service.TMDBEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Camada em disco do cache do TMDB. Cada entrada vira um arquivo cujo nome é o
+ * SHA-256 da chave, com cabeçalho (chave, endpoint, datas) seguido do corpo.
+ * As operações são bloqueantes e devem rodar fora do event loop.
+ */
+class DiskCacheTier {
+
+    private static final Logger log = LoggerFactory.getLogger(DiskCacheTier.class);
+    private static final String EXTENSAO = ".cache";
+
+    private final Path diretorio;
+
+    DiskCacheTier(Path diretorio) throws IOException {
+        this.diretorio = Files.createDirectories(diretorio);
+    }
+
+    Optional<CachedResponse> read(String key) {
+        Path arquivo = arquivoDa(key);
+        if (!Files.exists(arquivo)) {
+            return Optional.empty();
+        }
+
+        try (InputStream in = Files.newInputStream(arquivo);
+             DataInputStream data = new DataInputStream(in)) {
+            String chaveArmazenada = data.readUTF();
+            TMDBEndpoint endpoint = TMDBEndpoint.valueOf(data.readUTF());
+            long armazenadoEm = data.readLong();
+            long expiraEm = data.readLong();
+            byte[] body = data.readAllBytes();
+
+            if (!chaveArmazenada.equals(key)) {
+                return Optional.empty();
+            }
+            return Optional.of(new CachedResponse(endpoint, body, armazenadoEm, expiraEm));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Entrada de cache em disco ilegível, descartando {}: {}", arquivo, e.getMessage());
+            delete(key);
+            return Optional.empty();
+        }
+    }
+
+    void write(String key, CachedResponse response) {
+        Path arquivo = arquivoDa(key);
+        try {
+            Path temporario = Files.createTempFile(diretorio, "tmdb", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temporario);
+                 DataOutputStream data = new DataOutputStream(out)) {
+                data.writeUTF(key);
+                data.writeUTF(response.getEndpoint().name());
+                data.writeLong(response.getArmazenadoEm());
+                data.writeLong(response.getExpiraEm());
+                data.write(response.getBody());
+            }
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Falha ao gravar cache em disco para {}: {}", key, e.getMessage());
+        }
+    }
+
+    boolean delete(String key) {
+        try {
+            return Files.deleteIfExists(arquivoDa(key));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Remove os arquivos que expiraram antes de {@code limite}. Retorna
+     * quantas entradas foram descartadas.
+     */
+    int purgeExpired(long limite) {
+        int removidos = 0;
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            for (Path arquivo : (Iterable<Path>) arquivos.filter(p -> p.toString().endsWith(EXTENSAO))::iterator) {
+                if (isExpirado(arquivo, limite)) {
+                    Files.deleteIfExists(arquivo);
+                    removidos++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Falha ao limpar cache em disco em {}: {}", diretorio, e.getMessage());
+        }
+        return removidos;
+    }
+
+    private boolean isExpirado(Path arquivo, long agora) {
+        try (InputStream in = Files.newInputStream(arquivo);
+             DataInputStream data = new DataInputStream(in)) {
+            data.readUTF();
+            data.readUTF();
+            data.readLong();
+            return agora >= data.readLong();
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private Path arquivoDa(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return diretorio.resolve(HexFormat.of().formatHex(hash) + EXTENSAO);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.filmesapi.modules.filmes.cache;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Deduplica chamadas concorrentes com a mesma chave (single-flight): enquanto
+ * uma requisição ao TMDB está em andamento, novos assinantes da mesma chave
+ * compartilham a mesma troca HTTP e o mesmo corpo de resposta.
+ *
+ * Erros são entregues a todos os assinantes. O cancelamento de um assinante
+ * não afeta os demais; a chamada upstream só é cancelada quando todos desistem.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final ConcurrentMap<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String key, Supplier<Mono<T>> upstream) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<T>> criado = new AtomicReference<>();
+            Mono<T> compartilhado = (Mono<T>) inFlight.computeIfAbsent(key, k -> {
+                Mono<T> novo = compartilhar(k, upstream, criado);
+                criado.set(novo);
+                return novo;
+            });
+
+            if (criado.get() == compartilhado) {
+                leaders.increment();
+            } else {
+                collapsed.increment();
+            }
+            return compartilhado;
+        });
+    }
+
+    public long getLeaders() {
+        return leaders.sum();
+    }
+
+    public long getCollapsed() {
+        return collapsed.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    private <T> Mono<T> compartilhar(String key, Supplier<Mono<T>> upstream, AtomicReference<Mono<T>> self) {
+        // A entrada sai do mapa antes do sinal chegar aos assinantes, para que
+        // uma chamada posterior não se junte a uma troca já encerrada
+        Runnable liberar = () -> inFlight.remove(key, self.get());
+        return Mono.defer(upstream)
+                .doOnSuccess(valor -> liberar.run())
+                .doOnError(erro -> liberar.run())
+                .doOnCancel(liberar)
+                .flux()
+                .publish()
+                .refCount(1)
+                .next();
+    }
+}
@@ -0,0 +1,268 @@
+package com.filmesapi.modules.filmes.cache;
+
+import com.filmesapi.modules.filmes.dto.CacheStatsDTO;
+import com.filmesapi.modules.filmes.service.TMDBEndpoint;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache de respostas do TMDB em duas camadas: memória (Caffeine, limitada por
+ * quantidade de entradas e TTL por endpoint) e, opcionalmente, disco, que
+ * sobrevive a reinícios do servidor.
+ *
+ * Além das entradas válidas, guarda a última resposta conhecida de cada chave
+ * por até {@code tmdb.cache.stale.max-age}, usada quando o TMDB está fora.
+ */
+@Component
+public class TMDBResponseCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TMDBResponseCache.class);
+
+    private final boolean enabled;
+    private final Map<TMDBEndpoint, Duration> ttls = new EnumMap<>(TMDBEndpoint.class);
+    private final Cache<String, CachedResponse> memory;
+    private final Cache<String, CachedResponse> ultimasConhecidas;
+    private final long staleMaxAgeMillis;
+    private final DiskCacheTier disk;
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder diskEvictions = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+
+    public TMDBResponseCache(
+            Environment environment,
+            @Value("${tmdb.cache.enabled:true}") boolean enabled,
+            @Value("${tmdb.cache.memory.max-entries:2000}") long maxEntries,
+            @Value("${tmdb.cache.disk.enabled:false}") boolean diskEnabled,
+            @Value("${tmdb.cache.disk.path:${java.io.tmpdir}/cinelist-tmdb-cache}") String diskPath,
+            @Value("${tmdb.cache.stale.max-age:7d}") Duration staleMaxAge) {
+        this.enabled = enabled;
+        this.staleMaxAgeMillis = staleMaxAge.toMillis();
+
+        for (TMDBEndpoint endpoint : TMDBEndpoint.values()) {
+            String ttl = environment.getProperty("tmdb.cache.ttl." + endpoint.getNome());
+            ttls.put(endpoint, ttl != null ? DurationStyle.detectAndParse(ttl) : endpoint.getTtlPadrao());
+        }
+
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new ExpiracaoPorEndpoint())
+                .recordStats()
+                .build();
+
+        this.ultimasConhecidas = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(staleMaxAge)
+                .build();
+
+        this.disk = enabled && diskEnabled ? abrirDisco(Path.of(diskPath)) : null;
+        if (disk != null) {
+            Schedulers.boundedElastic().schedule(() -> diskEvictions.add(disk.purgeExpired(System.currentTimeMillis() - staleMaxAgeMillis)));
+        }
+    }
+
+    /**
+     * Procura a chave na memória e depois no disco. Um acerto em disco é
+     * promovido para a memória. Completa vazio quando não há entrada válida.
+     */
+    public Mono<CachedResponse> lookup(String key) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+
+        CachedResponse emMemoria = memory.getIfPresent(key);
+        if (emMemoria != null) {
+            memoryHits.increment();
+            return Mono.just(emMemoria);
+        }
+
+        if (disk == null) {
+            misses.increment();
+            return Mono.empty();
+        }
+
+        return Mono.fromCallable(() -> lerDoDisco(key).orElse(null))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Entrada válida em memória, sem consultar o disco nem contar nas
+     * estatísticas. Usado pelo prefetch para saber se há algo a buscar.
+     */
+    public CachedResponse peek(String key) {
+        return enabled ? memory.getIfPresent(key) : null;
+    }
+
+    /**
+     * Armazena o corpo e devolve a entrada criada. Com o cache desligado a
+     * entrada é devolvida mesmo assim, apenas sem ser guardada.
+     */
+    public CachedResponse put(String key, TMDBEndpoint endpoint, byte[] body) {
+        long agora = System.currentTimeMillis();
+        CachedResponse response = new CachedResponse(endpoint, body, agora, agora + ttls.get(endpoint).toMillis());
+        if (!enabled) {
+            return response;
+        }
+
+        memory.put(key, response);
+        ultimasConhecidas.put(key, response);
+
+        if (disk != null) {
+            Schedulers.boundedElastic().schedule(() -> disk.write(key, response));
+        }
+        return response;
+    }
+
+    /**
+     * Última resposta conhecida da chave, mesmo que expirada, desde que mais
+     * nova que {@code tmdb.cache.stale.max-age}.
+     */
+    public Mono<CachedResponse> lookupStale(String key) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+
+        CachedResponse emMemoria = ultimasConhecidas.getIfPresent(key);
+        if (emMemoria != null) {
+            staleHits.increment();
+            return Mono.just(emMemoria);
+        }
+
+        if (disk == null) {
+            return Mono.empty();
+        }
+
+        return Mono.fromCallable(() -> disk.read(key)
+                        .filter(response -> !isVelhaDemais(response, System.currentTimeMillis()))
+                        .map(response -> {
+                            staleHits.increment();
+                            ultimasConhecidas.put(key, response);
+                            return response;
+                        })
+                        .orElse(null))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Duration ttlDe(TMDBEndpoint endpoint) {
+        return ttls.get(endpoint);
+    }
+
+    /**
+     * Os mesmos contadores de {@link #stats()}, publicados no Micrometer.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tmdb.cache.hits", memoryHits, LongAdder::sum)
+                .tag("camada", "memoria").register(registry);
+        FunctionCounter.builder("tmdb.cache.hits", diskHits, LongAdder::sum)
+                .tag("camada", "disco").register(registry);
+        FunctionCounter.builder("tmdb.cache.hits", staleHits, LongAdder::sum)
+                .tag("camada", "stale").register(registry);
+        FunctionCounter.builder("tmdb.cache.misses", misses, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("tmdb.cache.evictions", this, cache -> cache.memory.stats().evictionCount() + cache.diskEvictions.sum())
+                .register(registry);
+        Gauge.builder("tmdb.cache.size", memory, Cache::estimatedSize)
+                .description("Entradas válidas em memória")
+                .register(registry);
+    }
+
+    public CacheStatsDTO stats() {
+        long memoria = memoryHits.sum();
+        long emDisco = diskHits.sum();
+        return new CacheStatsDTO(
+                memoria + emDisco,
+                memoria,
+                emDisco,
+                misses.sum(),
+                memory.stats().evictionCount() + diskEvictions.sum(),
+                memory.estimatedSize(),
+                staleHits.sum(),
+                disk != null
+        );
+    }
+
+    private Optional<CachedResponse> lerDoDisco(String key) {
+        Optional<CachedResponse> lido = disk.read(key);
+        if (lido.isEmpty()) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        CachedResponse response = lido.get();
+        long agora = System.currentTimeMillis();
+        if (response.isExpirado(agora)) {
+            // Expirada mas ainda útil como fallback: fica no disco até passar do limite
+            if (isVelhaDemais(response, agora)) {
+                disk.delete(key);
+                diskEvictions.increment();
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+
+        diskHits.increment();
+        memory.put(key, response);
+        return lido;
+    }
+
+    private boolean isVelhaDemais(CachedResponse response, long agora) {
+        return agora - response.getArmazenadoEm() > staleMaxAgeMillis;
+    }
+
+    private DiskCacheTier abrirDisco(Path diretorio) {
+        try {
+            log.info("Cache em disco do TMDB habilitado em {}", diretorio);
+            return new DiskCacheTier(diretorio);
+        } catch (IOException e) {
+            log.warn("Não foi possível abrir o cache em disco em {}, usando apenas memória: {}", diretorio, e.getMessage());
+            return null;
+        }
+    }
+
+    private static class ExpiracaoPorEndpoint implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+            return restante(value);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return restante(value);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private long restante(CachedResponse value) {
+            long millis = Math.max(0, value.getExpiraEm() - System.currentTimeMillis());
+            return Duration.ofMillis(millis).toNanos();
+        }
+    }
+}
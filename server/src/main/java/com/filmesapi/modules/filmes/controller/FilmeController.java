@@ -1,66 +1,223 @@
 package com.filmesapi.modules.filmes.controller;
 
+import com.filmesapi.modules.filmes.busca.IndiceBuscaFilmes;
+import com.filmesapi.modules.filmes.busca.IndiceSugestoes;
+import com.filmesapi.modules.filmes.cache.TMDBResponseCache;
+import com.filmesapi.modules.filmes.dto.CacheStatsDTO;
+import com.filmesapi.modules.filmes.dto.FeedResponseDTO;
+import com.filmesapi.modules.filmes.dto.FilmeBatchRequestDTO;
+import com.filmesapi.modules.filmes.dto.FilmeBatchResponseDTO;
+import com.filmesapi.modules.filmes.dto.SugestaoDTO;
+import com.filmesapi.modules.filmes.dto.TMDBMovieSummaryDTO;
+import com.filmesapi.modules.filmes.dto.TMDBPageDTO;
+import com.filmesapi.modules.filmes.dto.UpstreamStatsDTO;
+import com.filmesapi.modules.filmes.service.CatalogoService;
+import com.filmesapi.modules.filmes.service.FilmeFeedService;
+import com.filmesapi.modules.filmes.service.ListaCatalogo;
+import com.filmesapi.modules.filmes.service.TMDBPrefetcher;
+import com.filmesapi.modules.filmes.service.TMDBRespostaInfo;
 import com.filmesapi.modules.filmes.service.TMDBService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/filmes")
 public class FilmeController {
 
+    private static final String PROJECAO_COMPACTA = "compact";
+
     private final TMDBService tmdbService;
+    private final FilmeFeedService feedService;
+    private final TMDBResponseCache responseCache;
+    private final CatalogoService catalogoService;
+    private final IndiceBuscaFilmes indiceBusca;
+    private final IndiceSugestoes sugestoes;
+    private final TMDBPrefetcher prefetcher;
+    private final PoliticaCacheHttp politicaCache;
 
-    public FilmeController(TMDBService tmdbService) {
+    // Abaixo disso a busca local é considerada fraca e a consulta vai ao TMDB
+    @Value("${busca.local.min-results:5}")
+    private int buscaMinResultados;
+
+    public FilmeController(TMDBService tmdbService, FilmeFeedService feedService, TMDBResponseCache responseCache,
+                           CatalogoService catalogoService, IndiceBuscaFilmes indiceBusca, IndiceSugestoes sugestoes,
+                           TMDBPrefetcher prefetcher, PoliticaCacheHttp politicaCache) {
         this.tmdbService = tmdbService;
+        this.feedService = feedService;
+        this.responseCache = responseCache;
+        this.catalogoService = catalogoService;
+        this.indiceBusca = indiceBusca;
+        this.sugestoes = sugestoes;
+        this.prefetcher = prefetcher;
+        this.politicaCache = politicaCache;
     }
 
     @GetMapping("/search")
-    public Mono<ResponseEntity<String>> searchMovies(
+    public Mono<? extends ResponseEntity<?>> searchMovies(
             @RequestParam String query,
-            @RequestParam(defaultValue = "1") int page) {
-        return tmdbService.searchMovies(query, page)
-                .map(ResponseEntity::ok);
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String projection) {
+        // O índice local só tem o formato compacto e só cobre a primeira página
+        if (page == 1 && isCompacto(projection)) {
+            List<TMDBMovieSummaryDTO> locais = indiceBusca.buscar(query, CatalogoService.TAMANHO_PAGINA);
+            if (locais.size() >= buscaMinResultados) {
+                // O total do TMDB não é conhecido aqui: total_results fica de fora e total_pages
+                // indica que a página 2, que já vem do TMDB com os totais reais, pode ser pedida
+                return Mono.just(ResponseEntity.ok()
+                        .header("X-Cache-Status", "LOCAL")
+                        .body(new TMDBPageDTO(1, 2, null, locais)));
+            }
+        }
+        return isCompacto(projection)
+                ? responder(tmdbService.searchMoviesPage(query, page))
+                : responder(tmdbService.searchMovies(query, page));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SugestaoDTO>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(sugestoes.sugerir(prefix, limit));
     }
 
     @GetMapping("/popular")
-    public Mono<ResponseEntity<String>> getPopularMovies(
-            @RequestParam(defaultValue = "1") int page) {
-        return tmdbService.getPopularMovies(page)
-                .map(ResponseEntity::ok);
+    public Mono<? extends ResponseEntity<?>> getPopularMovies(
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String projection) {
+        if (!isCompacto(projection)) {
+            return responder(tmdbService.getPopularMovies(page))
+                    .doOnNext(resposta -> prefetcher.aposPopular(page));
+        }
+        return doCatalogo(ListaCatalogo.POPULAR, page)
+                .switchIfEmpty(Mono.defer(() -> responder(tmdbService.getPopularMoviesPage(page)))
+                        .doOnNext(resposta -> prefetcher.aposPopular(page)));
     }
 
     @GetMapping("/trending")
-    public Mono<ResponseEntity<String>> getTrendingMovies(
-            @RequestParam(defaultValue = "1") int page) {
-        return tmdbService.getTrendingMovies(page)
+    public Mono<? extends ResponseEntity<?>> getTrendingMovies(
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String projection) {
+        if (!isCompacto(projection)) {
+            return responder(tmdbService.getTrendingMovies(page));
+        }
+        return doCatalogo(ListaCatalogo.TRENDING, page)
+                .switchIfEmpty(Mono.defer(() -> responder(tmdbService.getTrendingMoviesPage(page))));
+    }
+
+    @GetMapping("/feed")
+    public Mono<ResponseEntity<FeedResponseDTO>> getFeed(
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) List<Integer> generos) {
+        return feedService.getFeed(page, generos)
                 .map(ResponseEntity::ok);
     }
 
     @GetMapping("/{tmdbId}")
-    public Mono<ResponseEntity<String>> getMovieDetails(@PathVariable Long tmdbId) {
-        return tmdbService.getMovieDetails(tmdbId)
-                .map(ResponseEntity::ok);
+    public Mono<? extends ResponseEntity<?>> getMovieDetails(
+            @PathVariable Long tmdbId,
+            @RequestParam(required = false) String projection) {
+        return isCompacto(projection)
+                ? responder(tmdbService.getMovieDetailsCompact(tmdbId))
+                : responder(tmdbService.getMovieDetails(tmdbId));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<FilmeBatchResponseDTO>> getMovieDetailsBatch(@RequestBody FilmeBatchRequestDTO request) {
+        return tmdbService.getMovieDetailsBatch(request.getIds())
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().build()));
     }
 
     @GetMapping("/now-playing")
-    public Mono<ResponseEntity<String>> getNowPlayingMovies(
-            @RequestParam(defaultValue = "1") int page) {
-        return tmdbService.getNowPlayingMovies(page)
-                .map(ResponseEntity::ok);
+    public Mono<? extends ResponseEntity<?>> getNowPlayingMovies(
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String projection) {
+        if (!isCompacto(projection)) {
+            return responder(tmdbService.getNowPlayingMovies(page));
+        }
+        return doCatalogo(ListaCatalogo.NOW_PLAYING, page)
+                .switchIfEmpty(Mono.defer(() -> responder(tmdbService.getNowPlayingMoviesPage(page))));
     }
 
     @GetMapping("/genre/{genreId}")
-    public Mono<ResponseEntity<String>> getMoviesByGenre(
+    public Mono<? extends ResponseEntity<?>> getMoviesByGenre(
             @PathVariable int genreId,
-            @RequestParam(defaultValue = "1") int page) {
-        return tmdbService.getMoviesByGenre(genreId, page)
-                .map(ResponseEntity::ok);
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String projection) {
+        Mono<? extends ResponseEntity<?>> resposta = isCompacto(projection)
+                ? responder(tmdbService.getMoviesByGenrePage(genreId, page))
+                : responder(tmdbService.getMoviesByGenre(genreId, page));
+        return resposta.doOnNext(servida -> prefetcher.aposGenero(genreId, page));
     }
 
     @GetMapping("/genres")
-    public Mono<ResponseEntity<String>> getGenreList() {
-        return tmdbService.getGenreList()
-                .map(ResponseEntity::ok);
+    public Mono<ResponseEntity<byte[]>> getGenreList() {
+        return responder(tmdbService.getGenreList());
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsDTO> getCacheStats() {
+        return ResponseEntity.ok(responseCache.stats());
+    }
+
+    @GetMapping("/upstream/stats")
+    public ResponseEntity<UpstreamStatsDTO> getUpstreamStats() {
+        return ResponseEntity.ok(tmdbService.getUpstreamStats());
+    }
+
+    // Listas sincronizadas saem do catálogo local, que só guarda o formato compacto:
+    // é usado apenas com projection=compact. Completa vazio quando não tem a página
+    private Mono<ResponseEntity<?>> doCatalogo(ListaCatalogo lista, int page) {
+        // A ETag é lida antes da página: se uma sincronização acontecer no meio,
+        // o cliente recebe a página nova com a ETag antiga e revalida na próxima vez
+        String etag = catalogoService.etag(lista, page);
+        return catalogoService.pagina(lista, page)
+                .map(pagina -> {
+                    ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                            .header("X-Cache-Status", "CATALOG");
+                    if (politicaCache.isEnabled() && etag != null) {
+                        resposta.eTag(etag).cacheControl(politicaCache.para(lista.getEndpoint()));
+                    }
+                    return resposta.body(pagina);
+                });
+    }
+
+    private static String variante(String etag, String sufixo) {
+        return etag.substring(0, etag.length() - 1) + "-" + sufixo + "\"";
+    }
+
+    // projection=compact devolve só os campos que o cliente usa, já tipados
+    private boolean isCompacto(String projection) {
+        return PROJECAO_COMPACTA.equalsIgnoreCase(projection);
+    }
+
+    // Respostas servidas do cache após falha do TMDB saem marcadas como stale
+    private <T> Mono<ResponseEntity<T>> responder(Mono<T> body) {
+        TMDBRespostaInfo info = new TMDBRespostaInfo();
+        return body
+                .map(conteudo -> {
+                    // byte[] é o corpo original do TMDB e sai como está, com Content-Length
+                    ResponseEntity.BodyBuilder resposta = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+                    if (politicaCache.isEnabled() && info.getEtag() != null) {
+                        // Spring responde 304 sem escrever o corpo quando o If-None-Match bate
+                        String etag = conteudo instanceof byte[] ? info.getEtag() : variante(info.getEtag(), PROJECAO_COMPACTA);
+                        resposta.eTag(etag).cacheControl(politicaCache.para(info));
+                    }
+                    if (info.isStale()) {
+                        long idade = Math.max(0, (System.currentTimeMillis() - info.getArmazenadoEm()) / 1000);
+                        resposta.header("X-Cache-Status", "STALE")
+                                .header(HttpHeaders.AGE, String.valueOf(idade))
+                                .header(HttpHeaders.WARNING, "110 - \"Response is Stale\"");
+                    }
+                    return resposta.body(conteudo);
+                })
+                .contextWrite(info::registrar);
     }
 }
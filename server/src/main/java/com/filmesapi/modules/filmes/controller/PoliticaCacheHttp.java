@@ -0,0 +1,74 @@
+package com.filmesapi.modules.filmes.controller;
+
+import com.filmesapi.modules.filmes.cache.TMDBResponseCache;
+import com.filmesapi.modules.filmes.service.TMDBEndpoint;
+import com.filmesapi.modules.filmes.service.TMDBRespostaInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Cabeçalhos Cache-Control das respostas de filmes. O max-age acompanha o
+ * tempo que a resposta ainda tem no cache do servidor (limitado por
+ * {@code http.cache.max-age}), para o navegador e a CDN não guardarem por mais
+ * tempo que o próprio servidor. O stale-while-revalidate pode ser ajustado por
+ * endpoint em {@code http.cache.stale-while-revalidate.<endpoint>}.
+ */
+@Component
+class PoliticaCacheHttp {
+
+    private final boolean enabled;
+    private final TMDBResponseCache responseCache;
+    private final Duration maxAge;
+    private final Duration staleIfError;
+    private final Map<TMDBEndpoint, Duration> staleWhileRevalidate = new EnumMap<>(TMDBEndpoint.class);
+
+    PoliticaCacheHttp(
+            Environment environment,
+            TMDBResponseCache responseCache,
+            @Value("${http.cache.enabled:true}") boolean enabled,
+            @Value("${http.cache.max-age:1h}") Duration maxAge,
+            @Value("${http.cache.stale-while-revalidate:10m}") Duration staleWhileRevalidatePadrao,
+            @Value("${http.cache.stale-if-error:1d}") Duration staleIfError) {
+        this.enabled = enabled;
+        this.responseCache = responseCache;
+        this.maxAge = maxAge;
+        this.staleIfError = staleIfError;
+
+        for (TMDBEndpoint endpoint : TMDBEndpoint.values()) {
+            String swr = environment.getProperty("http.cache.stale-while-revalidate." + endpoint.getNome());
+            staleWhileRevalidate.put(endpoint, swr != null ? DurationStyle.detectAndParse(swr) : staleWhileRevalidatePadrao);
+        }
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    CacheControl para(TMDBRespostaInfo info) {
+        if (info.isStale() || info.getEndpoint() == null) {
+            return CacheControl.noCache();
+        }
+        long restante = Math.max(0, info.getExpiraEm() - System.currentTimeMillis());
+        return politica(info.getEndpoint(), Duration.ofMillis(restante));
+    }
+
+    // Listas do catálogo local: vale o TTL configurado para o endpoint equivalente
+    CacheControl para(TMDBEndpoint endpoint) {
+        return politica(endpoint, responseCache.ttlDe(endpoint));
+    }
+
+    private CacheControl politica(TMDBEndpoint endpoint, Duration validade) {
+        Duration idade = validade.compareTo(maxAge) < 0 ? validade : maxAge;
+        return CacheControl.maxAge(idade)
+                .cachePublic()
+                .staleWhileRevalidate(staleWhileRevalidate.get(endpoint))
+                .staleIfError(staleIfError);
+    }
+}
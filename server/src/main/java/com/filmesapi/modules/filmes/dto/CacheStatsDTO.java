@@ -0,0 +1,19 @@
+package com.filmesapi.modules.filmes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDTO {
+    private long hits;
+    private long memoryHits;
+    private long diskHits;
+    private long misses;
+    private long evictions;
+    private long memoryEntries;
+    private long staleHits;
+    private boolean diskEnabled;
+}
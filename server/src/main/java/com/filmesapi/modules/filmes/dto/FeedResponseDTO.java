@@ -0,0 +1,21 @@
+package com.filmesapi.modules.filmes.dto;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedResponseDTO {
+    private RawValue popular;
+    private RawValue nowPlaying;
+    private RawValue trending;
+    private Map<Integer, RawValue> generos;
+    // Fontes que falharam ou estouraram o tempo limite; a resposta é parcial
+    private List<String> indisponiveis;
+}
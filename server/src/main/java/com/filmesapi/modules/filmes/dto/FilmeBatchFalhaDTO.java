@@ -0,0 +1,14 @@
+package com.filmesapi.modules.filmes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmeBatchFalhaDTO {
+    private Long tmdbId;
+    private int status;
+    private String erro;
+}
@@ -0,0 +1,14 @@
+package com.filmesapi.modules.filmes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmeBatchRequestDTO {
+    private List<Long> ids;
+}
@@ -0,0 +1,17 @@
+package com.filmesapi.modules.filmes.dto;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmeBatchResponseDTO {
+    // Detalhes como vieram do TMDB, escritos sem novo parse
+    private List<RawValue> filmes;
+    private List<FilmeBatchFalhaDTO> falhas;
+}
@@ -0,0 +1,33 @@
+package com.filmesapi.modules.filmes.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TMDBMovieDetailsDTO {
+    private Long id;
+    private String title;
+    private String originalTitle;
+    private String overview;
+    private String posterPath;
+    private String backdropPath;
+    private String releaseDate;
+    private Double voteAverage;
+    private Integer voteCount;
+    private Double popularity;
+    private Integer runtime;
+    private Long budget;
+    private List<TMDBGenreDTO> genres;
+}
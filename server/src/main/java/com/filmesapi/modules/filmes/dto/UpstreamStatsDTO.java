@@ -0,0 +1,22 @@
+package com.filmesapi.modules.filmes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpstreamStatsDTO {
+    private long upstreamRequests;
+    private long collapsedRequests;
+    private int inFlightRequests;
+    private double availableTokens;
+    private int queuedRequests;
+    private long shedRequests;
+    private long retries;
+    private long throttledResponses;
+    private String circuitState;
+    private long circuitTransitions;
+    private long circuitRejected;
+}
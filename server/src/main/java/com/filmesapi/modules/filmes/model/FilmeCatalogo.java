@@ -0,0 +1,99 @@
+package com.filmesapi.modules.filmes.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cópia local de um filme do TMDB, mantida pela sincronização do catálogo.
+ * As colunas {@code posicao_*} guardam a posição do filme em cada lista
+ * (populares, em alta, em cartaz) e ficam nulas quando ele saiu dela.
+ */
+@Entity
+@Table(name = "catalogo_filmes", indexes = {
+        @Index(name = "idx_catalogo_posicao_popular", columnList = "posicao_popular"),
+        @Index(name = "idx_catalogo_posicao_trending", columnList = "posicao_trending"),
+        @Index(name = "idx_catalogo_posicao_now_playing", columnList = "posicao_now_playing")
+})
+@Data
+@NoArgsConstructor
+public class FilmeCatalogo implements Persistable<Long> {
+
+    @Id
+    @Column(name = "tmdb_id")
+    private Long tmdbId;
+
+    @Column(nullable = false)
+    private String titulo;
+
+    @Column(name = "titulo_original")
+    private String tituloOriginal;
+
+    @Column(name = "poster_path")
+    private String posterPath;
+
+    @Column(name = "backdrop_path")
+    private String backdropPath;
+
+    @Column(name = "data_lancamento", length = 10)
+    private String dataLancamento;
+
+    @Column(name = "nota_media")
+    private Double notaMedia;
+
+    private Double popularidade;
+
+    // Ids de gênero separados por vírgula, na ordem do TMDB
+    @Column(name = "genero_ids")
+    private String generoIds;
+
+    @Column(name = "posicao_popular")
+    private Integer posicaoPopular;
+
+    @Column(name = "posicao_trending")
+    private Integer posicaoTrending;
+
+    @Column(name = "posicao_now_playing")
+    private Integer posicaoNowPlaying;
+
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+
+    // Id atribuído pelo TMDB: sem isto o Spring Data faria um SELECT antes de cada insert
+    @Transient
+    private boolean novo;
+
+    public FilmeCatalogo(Long tmdbId) {
+        this.tmdbId = tmdbId;
+        this.novo = true;
+    }
+
+    @Override
+    public Long getId() {
+        return tmdbId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        atualizadoEm = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        atualizadoEm = LocalDateTime.now();
+    }
+
+    @PostPersist
+    @PostLoad
+    protected void marcarPersistido() {
+        novo = false;
+    }
+}
@@ -0,0 +1,33 @@
+package com.filmesapi.modules.filmes.repository;
+
+import com.filmesapi.modules.filmes.model.FilmeCatalogo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FilmeCatalogoRepository extends JpaRepository<FilmeCatalogo, Long> {
+
+    List<FilmeCatalogo> findByPosicaoPopularBetweenOrderByPosicaoPopularAsc(int de, int ate);
+
+    List<FilmeCatalogo> findByPosicaoTrendingBetweenOrderByPosicaoTrendingAsc(int de, int ate);
+
+    List<FilmeCatalogo> findByPosicaoNowPlayingBetweenOrderByPosicaoNowPlayingAsc(int de, int ate);
+
+    @Modifying
+    @Query("UPDATE FilmeCatalogo f SET f.posicaoPopular = null WHERE f.posicaoPopular IS NOT NULL AND f.tmdbId NOT IN :mantidos")
+    int limparPosicaoPopular(@Param("mantidos") Collection<Long> mantidos);
+
+    @Modifying
+    @Query("UPDATE FilmeCatalogo f SET f.posicaoTrending = null WHERE f.posicaoTrending IS NOT NULL AND f.tmdbId NOT IN :mantidos")
+    int limparPosicaoTrending(@Param("mantidos") Collection<Long> mantidos);
+
+    @Modifying
+    @Query("UPDATE FilmeCatalogo f SET f.posicaoNowPlaying = null WHERE f.posicaoNowPlaying IS NOT NULL AND f.tmdbId NOT IN :mantidos")
+    int limparPosicaoNowPlaying(@Param("mantidos") Collection<Long> mantidos);
+}
@@ -2,8 +2,10 @@ package com.filmesapi.modules.filmes.repository;
 
 import com.filmesapi.modules.filmes.model.FilmeUsuario;
 import com.filmesapi.modules.filmes.model.StatusFilme;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +15,6 @@ public interface FilmeUsuarioRepository extends JpaRepository<FilmeUsuario, Long
     List<FilmeUsuario> findByUsuarioIdAndStatus(Long usuarioId, StatusFilme status);
     Optional<FilmeUsuario> findByUsuarioIdAndTmdbId(Long usuarioId, Long tmdbId);
     boolean existsByUsuarioIdAndTmdbId(Long usuarioId, Long tmdbId);
+    List<FilmeUsuario> findByUsuarioIdAndTmdbIdIn(Long usuarioId, Collection<Long> tmdbIds);
+    List<FilmeUsuario> findByUsuarioIdAndIdGreaterThanOrderByIdAsc(Long usuarioId, Long id, Limit limit);
 }
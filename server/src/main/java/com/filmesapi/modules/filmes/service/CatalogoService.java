@@ -0,0 +1,209 @@
+package com.filmesapi.modules.filmes.service;
+
+import com.filmesapi.modules.filmes.dto.TMDBMovieSummaryDTO;
+import com.filmesapi.modules.filmes.dto.TMDBPageDTO;
+import com.filmesapi.modules.filmes.model.FilmeCatalogo;
+import com.filmesapi.modules.filmes.repository.FilmeCatalogoRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Leitura e gravação do catálogo local de filmes. As listas só são servidas
+ * daqui depois de uma sincronização bem-sucedida neste processo e enquanto
+ * ela for mais nova que {@code catalogo.local.max-age}; fora disso as
+ * consultas completam vazio e o chamador recorre ao TMDB.
+ */
+@Service
+public class CatalogoService {
+
+    // Mesmo tamanho de página do TMDB, para o cliente não perceber a diferença
+    public static final int TAMANHO_PAGINA = 20;
+
+    private final FilmeCatalogoRepository repository;
+    private final boolean enabled;
+    private final long maxAgeMillis;
+    private final Map<ListaCatalogo, Sincronizacao> sincronizacoes = new EnumMap<>(ListaCatalogo.class);
+
+    public CatalogoService(
+            FilmeCatalogoRepository repository,
+            @Value("${catalogo.local.enabled:true}") boolean enabled,
+            @Value("${catalogo.local.max-age:2h}") Duration maxAge) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.maxAgeMillis = maxAge.toMillis();
+    }
+
+    /**
+     * Página da lista no formato do TMDB, ou vazio quando o catálogo não tem
+     * dados atuais para ela.
+     */
+    public Mono<TMDBPageDTO> pagina(ListaCatalogo lista, int page) {
+        Sincronizacao sincronizacao = sincronizacaoAtual(lista);
+        if (sincronizacao == null || page < 1) {
+            return Mono.empty();
+        }
+
+        int totalPaginas = (sincronizacao.total + TAMANHO_PAGINA - 1) / TAMANHO_PAGINA;
+        if (page > totalPaginas) {
+            return Mono.empty();
+        }
+
+        int de = (page - 1) * TAMANHO_PAGINA + 1;
+        int ate = page * TAMANHO_PAGINA;
+        return Mono.fromCallable(() -> buscarPosicoes(lista, de, ate))
+                .subscribeOn(Schedulers.boundedElastic())
+                .filter(filmes -> !filmes.isEmpty())
+                .map(filmes -> new TMDBPageDTO(
+                        page,
+                        totalPaginas,
+                        sincronizacao.total,
+                        filmes.stream().map(this::toSummary).toList()));
+    }
+
+    /**
+     * Grava as posições atuais da lista. Filmes que saíram dela perdem a
+     * posição; filmes sem alteração não geram UPDATE (dirty checking).
+     * Retorna quantas posições foram gravadas, já sem repetidos e sem filmes
+     * incompletos: é esse o total que as páginas do catálogo anunciam.
+     */
+    @Transactional
+    public int gravarLista(ListaCatalogo lista, List<TMDBMovieSummaryDTO> filmes) {
+        Map<Long, TMDBMovieSummaryDTO> porId = filmes.stream()
+                .filter(filme -> filme.getId() != null && filme.getTitle() != null)
+                .collect(Collectors.toMap(TMDBMovieSummaryDTO::getId, Function.identity(), (primeiro, repetido) -> primeiro, LinkedHashMap::new));
+        if (porId.isEmpty()) {
+            return 0;
+        }
+
+        limparPosicoes(lista, porId.keySet());
+
+        Map<Long, FilmeCatalogo> existentes = repository.findAllById(porId.keySet()).stream()
+                .collect(Collectors.toMap(FilmeCatalogo::getTmdbId, Function.identity()));
+
+        List<FilmeCatalogo> novos = new ArrayList<>();
+        int posicao = 1;
+        for (TMDBMovieSummaryDTO filme : porId.values()) {
+            FilmeCatalogo entidade = existentes.get(filme.getId());
+            if (entidade == null) {
+                entidade = new FilmeCatalogo(filme.getId());
+                novos.add(entidade);
+            }
+            copiar(filme, entidade);
+            definirPosicao(entidade, lista, posicao++);
+        }
+
+        repository.saveAll(novos);
+        return porId.size();
+    }
+
+    /**
+     * ETag da página: muda a cada sincronização da lista. Nulo quando a lista
+     * não é servida do catálogo.
+     */
+    public String etag(ListaCatalogo lista, int page) {
+        Sincronizacao sincronizacao = sincronizacaoAtual(lista);
+        if (sincronizacao == null) {
+            return null;
+        }
+        return "W/\"cat-" + lista.name().toLowerCase() + "-" + Long.toHexString(sincronizacao.instante) + "-" + page + "\"";
+    }
+
+    public void registrarSincronizacao(ListaCatalogo lista, int total) {
+        synchronized (sincronizacoes) {
+            sincronizacoes.put(lista, new Sincronizacao(total, System.currentTimeMillis()));
+        }
+    }
+
+    private Sincronizacao sincronizacaoAtual(ListaCatalogo lista) {
+        if (!enabled) {
+            return null;
+        }
+        Sincronizacao sincronizacao;
+        synchronized (sincronizacoes) {
+            sincronizacao = sincronizacoes.get(lista);
+        }
+        if (sincronizacao == null || System.currentTimeMillis() - sincronizacao.instante > maxAgeMillis) {
+            return null;
+        }
+        return sincronizacao;
+    }
+
+    private List<FilmeCatalogo> buscarPosicoes(ListaCatalogo lista, int de, int ate) {
+        return switch (lista) {
+            case POPULAR -> repository.findByPosicaoPopularBetweenOrderByPosicaoPopularAsc(de, ate);
+            case TRENDING -> repository.findByPosicaoTrendingBetweenOrderByPosicaoTrendingAsc(de, ate);
+            case NOW_PLAYING -> repository.findByPosicaoNowPlayingBetweenOrderByPosicaoNowPlayingAsc(de, ate);
+        };
+    }
+
+    private void limparPosicoes(ListaCatalogo lista, Collection<Long> mantidos) {
+        switch (lista) {
+            case POPULAR -> repository.limparPosicaoPopular(mantidos);
+            case TRENDING -> repository.limparPosicaoTrending(mantidos);
+            case NOW_PLAYING -> repository.limparPosicaoNowPlaying(mantidos);
+        }
+    }
+
+    private void definirPosicao(FilmeCatalogo entidade, ListaCatalogo lista, int posicao) {
+        switch (lista) {
+            case POPULAR -> entidade.setPosicaoPopular(posicao);
+            case TRENDING -> entidade.setPosicaoTrending(posicao);
+            case NOW_PLAYING -> entidade.setPosicaoNowPlaying(posicao);
+        }
+    }
+
+    private void copiar(TMDBMovieSummaryDTO filme, FilmeCatalogo entidade) {
+        entidade.setTitulo(filme.getTitle());
+        entidade.setTituloOriginal(filme.getOriginalTitle());
+        entidade.setPosterPath(filme.getPosterPath());
+        entidade.setBackdropPath(filme.getBackdropPath());
+        entidade.setDataLancamento(filme.getReleaseDate());
+        entidade.setNotaMedia(filme.getVoteAverage());
+        entidade.setPopularidade(filme.getPopularity());
+        entidade.setGeneroIds(filme.getGenreIds() == null ? null : filme.getGenreIds().stream()
+                .filter(Objects::nonNull)
+                .map(String::valueOf)
+                .collect(Collectors.joining(",")));
+    }
+
+    private TMDBMovieSummaryDTO toSummary(FilmeCatalogo filme) {
+        List<Integer> generos = filme.getGeneroIds() == null || filme.getGeneroIds().isEmpty()
+                ? List.of()
+                : Arrays.stream(filme.getGeneroIds().split(",")).map(Integer::valueOf).toList();
+        return new TMDBMovieSummaryDTO(
+                filme.getTmdbId(),
+                filme.getTitulo(),
+                filme.getTituloOriginal(),
+                filme.getPosterPath(),
+                filme.getBackdropPath(),
+                filme.getDataLancamento(),
+                filme.getNotaMedia(),
+                filme.getPopularidade(),
+                generos);
+    }
+
+    private static class Sincronizacao {
+        private final int total;
+        private final long instante;
+
+        private Sincronizacao(int total, long instante) {
+            this.total = total;
+            this.instante = instante;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.filmesapi.modules.filmes.service;
+
+import com.filmesapi.modules.filmes.dto.TMDBMovieSummaryDTO;
+import com.filmesapi.modules.filmes.dto.TMDBPageDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Sincroniza periodicamente as listas do catálogo local com o TMDB. As
+ * páginas são buscadas em sequência com prioridade baixa no limitador, para
+ * não competir com as requisições dos usuários.
+ */
+@Service
+public class CatalogoSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogoSyncService.class);
+
+    private final TMDBService tmdbService;
+    private final CatalogoService catalogoService;
+    private final boolean enabled;
+    private final int paginas;
+    private final Duration timeout;
+
+    public CatalogoSyncService(
+            TMDBService tmdbService,
+            CatalogoService catalogoService,
+            @Value("${catalogo.sync.enabled:true}") boolean enabled,
+            @Value("${catalogo.sync.pages:5}") int paginas,
+            @Value("${catalogo.sync.timeout:2m}") Duration timeout) {
+        this.tmdbService = tmdbService;
+        this.catalogoService = catalogoService;
+        this.enabled = enabled;
+        this.paginas = Math.max(1, Math.min(paginas, 500));
+        this.timeout = timeout;
+    }
+
+    @Scheduled(initialDelayString = "${catalogo.sync.initial-delay:10s}", fixedDelayString = "${catalogo.sync.interval:30m}")
+    public void sincronizar() {
+        if (!enabled) {
+            return;
+        }
+
+        for (ListaCatalogo lista : ListaCatalogo.values()) {
+            try {
+                sincronizar(lista);
+            } catch (RuntimeException e) {
+                // Mantém os dados anteriores; depois de catalogo.local.max-age a lista volta a vir do TMDB
+                log.warn("Sincronização do catálogo ({}) falhou: {}", lista, e.toString());
+            }
+        }
+    }
+
+    private void sincronizar(ListaCatalogo lista) {
+        long inicio = System.nanoTime();
+        List<TMDBMovieSummaryDTO> filmes = Flux.range(1, paginas)
+                .concatMap(page -> tmdbService.getCatalogoPage(lista, page))
+                .takeUntil(pagina -> pagina.getTotalPages() == null || pagina.getPage() >= pagina.getTotalPages())
+                .concatMapIterable(pagina -> pagina.getResults() == null ? List.<TMDBMovieSummaryDTO>of() : pagina.getResults())
+                .collectList()
+                .block(timeout);
+
+        if (filmes == null || filmes.isEmpty()) {
+            log.warn("Sincronização do catálogo ({}) não trouxe filmes", lista);
+            return;
+        }
+
+        // O total anunciado é o que foi gravado: repetidos entre páginas do TMDB não ocupam posição
+        int gravados = catalogoService.gravarLista(lista, filmes);
+        if (gravados == 0) {
+            log.warn("Sincronização do catálogo ({}) não trouxe filmes válidos", lista);
+            return;
+        }
+        catalogoService.registrarSincronizacao(lista, gravados);
+        log.info("Catálogo ({}) sincronizado: {} filmes recebidos, {} gravados, em {} ms",
+                lista, filmes.size(), gravados, Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+    }
+}
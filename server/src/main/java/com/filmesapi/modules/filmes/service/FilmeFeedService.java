@@ -0,0 +1,114 @@
+package com.filmesapi.modules.filmes.service;
+
+import com.filmesapi.modules.filmes.dto.FeedResponseDTO;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Monta o feed do dashboard (populares, em cartaz, em alta e, opcionalmente,
+ * linhas por gênero) com as fontes em paralelo. Cada fonte tem seu próprio
+ * tempo limite; uma fonte lenta ou com erro é omitida em vez de derrubar o feed,
+ * e a busca dela continua até o fim para abastecer o cache.
+ */
+@Service
+public class FilmeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(FilmeFeedService.class);
+
+    private final TMDBService tmdbService;
+    private final Map<TMDBEndpoint, Duration> timeouts = new EnumMap<>(TMDBEndpoint.class);
+    private final int maxGeneros;
+
+    public FilmeFeedService(
+            TMDBService tmdbService,
+            Environment environment,
+            @Value("${tmdb.feed.timeout:2s}") Duration timeoutPadrao,
+            @Value("${tmdb.feed.max-genres:6}") int maxGeneros) {
+        this.tmdbService = tmdbService;
+        this.maxGeneros = maxGeneros;
+
+        for (TMDBEndpoint endpoint : List.of(TMDBEndpoint.POPULAR, TMDBEndpoint.NOW_PLAYING, TMDBEndpoint.TRENDING, TMDBEndpoint.GENRE)) {
+            String timeout = environment.getProperty("tmdb.feed.timeout." + endpoint.getNome());
+            timeouts.put(endpoint, timeout != null ? DurationStyle.detectAndParse(timeout) : timeoutPadrao);
+        }
+    }
+
+    public Mono<FeedResponseDTO> getFeed(int page, List<Integer> genreIds) {
+        List<Integer> generos = genreIds == null ? List.of() : genreIds.stream()
+                .distinct()
+                .limit(maxGeneros)
+                .toList();
+
+        List<Mono<Optional<byte[]>>> fontes = new ArrayList<>();
+        fontes.add(fonte("popular", TMDBEndpoint.POPULAR, tmdbService.getPopularMovies(page)));
+        fontes.add(fonte("nowPlaying", TMDBEndpoint.NOW_PLAYING, tmdbService.getNowPlayingMovies(page)));
+        fontes.add(fonte("trending", TMDBEndpoint.TRENDING, tmdbService.getTrendingMovies(page)));
+        for (Integer genreId : generos) {
+            fontes.add(fonte("genero:" + genreId, TMDBEndpoint.GENRE, tmdbService.getMoviesByGenre(genreId, page)));
+        }
+
+        return Mono.zip(fontes, resultados -> {
+            List<String> indisponiveis = new ArrayList<>();
+            RawValue popular = valor(resultados[0], "popular", indisponiveis);
+            RawValue nowPlaying = valor(resultados[1], "nowPlaying", indisponiveis);
+            RawValue trending = valor(resultados[2], "trending", indisponiveis);
+
+            Map<Integer, RawValue> porGenero = new LinkedHashMap<>();
+            for (int i = 0; i < generos.size(); i++) {
+                RawValue linha = valor(resultados[3 + i], "genero:" + generos.get(i), indisponiveis);
+                if (linha != null) {
+                    porGenero.put(generos.get(i), linha);
+                }
+            }
+
+            return new FeedResponseDTO(popular, nowPlaying, trending, porGenero, indisponiveis);
+        });
+    }
+
+    private Mono<Optional<byte[]>> fonte(String nome, TMDBEndpoint endpoint, Mono<byte[]> chamada) {
+        // A chamada só começa quando o feed é assinado e é assinada à parte, com o Context
+        // da requisição: o tempo limite vale só para a visão do feed. Se ele cancelasse a
+        // troca compartilhada, uma fonte lenta nunca chegaria ao cache e estouraria o tempo
+        // em todo carregamento do feed
+        Mono<byte[]> visao = Mono.deferContextual(context -> {
+            Mono<byte[]> emSegundoPlano = chamada.contextWrite(context).cache();
+            emSegundoPlano.subscribe(
+                    body -> { },
+                    erro -> log.debug("Fonte '{}' do feed não chegou ao cache: {}", nome, erro.toString()));
+            return emSegundoPlano;
+        });
+        return visao
+                .timeout(timeouts.get(endpoint))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(erro -> {
+                    log.warn("Fonte '{}' do feed indisponível: {}", nome, erro.toString());
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RawValue valor(Object resultado, String nome, List<String> indisponiveis) {
+        Optional<byte[]> body = (Optional<byte[]>) resultado;
+        if (body.isEmpty()) {
+            indisponiveis.add(nome);
+            return null;
+        }
+        return new RawValue(new String(body.get(), StandardCharsets.UTF_8));
+    }
+}
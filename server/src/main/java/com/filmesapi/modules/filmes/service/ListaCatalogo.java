@@ -0,0 +1,20 @@
+package com.filmesapi.modules.filmes.service;
+
+/**
+ * Listas do TMDB espelhadas no catálogo local.
+ */
+public enum ListaCatalogo {
+    POPULAR(TMDBEndpoint.POPULAR),
+    TRENDING(TMDBEndpoint.TRENDING),
+    NOW_PLAYING(TMDBEndpoint.NOW_PLAYING);
+
+    private final TMDBEndpoint endpoint;
+
+    ListaCatalogo(TMDBEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public TMDBEndpoint getEndpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,227 @@
+package com.filmesapi.modules.filmes.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breaker das chamadas ao TMDB, avaliado sobre uma janela deslizante
+ * das últimas {@code tmdb.circuit-breaker.window-size} chamadas.
+ *
+ * O circuito abre quando a taxa de falhas (erros de conexão, timeouts e 5xx)
+ * ou a taxa de chamadas lentas passa do limite. Depois de
+ * {@code open-duration}, algumas chamadas de teste são liberadas: se todas
+ * forem bem-sucedidas o circuito fecha, senão volta a abrir. Cada transição
+ * publica um {@link TMDBCircuitoEvent}.
+ */
+@Component
+public class TMDBCircuitBreaker {
+
+    public enum Estado {
+        FECHADO,
+        ABERTO,
+        MEIO_ABERTO
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(TMDBCircuitBreaker.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int minimoChamadas;
+    private final int limiarFalhas;
+    private final int limiarLentas;
+    private final long chamadaLentaNanos;
+    private final long duracaoAbertoNanos;
+    private final int chamadasDeTeste;
+
+    private final boolean[] janelaFalhas;
+    private final boolean[] janelaLentas;
+    private int posicao;
+    private int total;
+    private int falhas;
+    private int lentas;
+
+    private Estado estado = Estado.FECHADO;
+    private long abertoAte;
+    private int testesEmAndamento;
+    private int testesBemSucedidos;
+
+    private final LongAdder rejeitadas = new LongAdder();
+    private final LongAdder transicoes = new LongAdder();
+
+    public TMDBCircuitBreaker(
+            ApplicationEventPublisher eventPublisher,
+            @Value("${tmdb.circuit-breaker.enabled:true}") boolean enabled,
+            @Value("${tmdb.circuit-breaker.window-size:20}") int tamanhoJanela,
+            @Value("${tmdb.circuit-breaker.minimum-calls:10}") int minimoChamadas,
+            @Value("${tmdb.circuit-breaker.failure-rate-threshold:50}") int limiarFalhas,
+            @Value("${tmdb.circuit-breaker.slow-call-rate-threshold:80}") int limiarLentas,
+            @Value("${tmdb.circuit-breaker.slow-call-duration:2s}") Duration chamadaLenta,
+            @Value("${tmdb.circuit-breaker.open-duration:30s}") Duration duracaoAberto,
+            @Value("${tmdb.circuit-breaker.half-open-calls:3}") int chamadasDeTeste) {
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.minimoChamadas = Math.max(1, Math.min(minimoChamadas, tamanhoJanela));
+        this.limiarFalhas = limiarFalhas;
+        this.limiarLentas = limiarLentas;
+        this.chamadaLentaNanos = chamadaLenta.toNanos();
+        this.duracaoAbertoNanos = duracaoAberto.toNanos();
+        this.chamadasDeTeste = Math.max(1, chamadasDeTeste);
+        this.janelaFalhas = new boolean[tamanhoJanela];
+        this.janelaLentas = new boolean[tamanhoJanela];
+    }
+
+    public <T> Mono<T> proteger(Mono<T> chamada) {
+        if (!enabled) {
+            return chamada;
+        }
+
+        return Mono.defer(() -> {
+            if (!permitir()) {
+                rejeitadas.increment();
+                return Mono.error(new TMDBIndisponivelException("Circuito do TMDB aberto"));
+            }
+
+            long inicio = System.nanoTime();
+            AtomicBoolean registrado = new AtomicBoolean();
+            return chamada
+                    .doOnSuccess(valor -> registrar(registrado, false, inicio))
+                    .doOnError(erro -> registrar(registrado, isFalha(erro), inicio))
+                    .doOnCancel(() -> liberar(registrado));
+        });
+    }
+
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+
+    public long getRejeitadas() {
+        return rejeitadas.sum();
+    }
+
+    public long getTransicoes() {
+        return transicoes.sum();
+    }
+
+    private boolean permitir() {
+        TMDBCircuitoEvent evento = null;
+        boolean permitido;
+
+        synchronized (this) {
+            if (estado == Estado.ABERTO && System.nanoTime() >= abertoAte) {
+                evento = transicionar(Estado.MEIO_ABERTO);
+            }
+
+            if (estado == Estado.FECHADO) {
+                permitido = true;
+            } else if (estado == Estado.MEIO_ABERTO && testesEmAndamento + testesBemSucedidos < chamadasDeTeste) {
+                testesEmAndamento++;
+                permitido = true;
+            } else {
+                permitido = false;
+            }
+        }
+
+        publicar(evento);
+        return permitido;
+    }
+
+    private void registrar(AtomicBoolean registrado, boolean falha, long inicio) {
+        if (!registrado.compareAndSet(false, true)) {
+            return;
+        }
+
+        boolean lenta = System.nanoTime() - inicio >= chamadaLentaNanos;
+        TMDBCircuitoEvent evento = null;
+
+        synchronized (this) {
+            if (estado == Estado.MEIO_ABERTO) {
+                testesEmAndamento = Math.max(0, testesEmAndamento - 1);
+                if (falha || lenta) {
+                    evento = transicionar(Estado.ABERTO);
+                } else if (++testesBemSucedidos >= chamadasDeTeste) {
+                    evento = transicionar(Estado.FECHADO);
+                }
+            } else if (estado == Estado.FECHADO) {
+                adicionarNaJanela(falha, lenta);
+                if (total >= minimoChamadas
+                        && (falhas * 100 >= limiarFalhas * total || lentas * 100 >= limiarLentas * total)) {
+                    evento = transicionar(Estado.ABERTO);
+                }
+            }
+        }
+
+        publicar(evento);
+    }
+
+    private void liberar(AtomicBoolean registrado) {
+        if (!registrado.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (this) {
+            if (estado == Estado.MEIO_ABERTO) {
+                testesEmAndamento = Math.max(0, testesEmAndamento - 1);
+            }
+        }
+    }
+
+    // Chamado com o lock adquirido
+    private void adicionarNaJanela(boolean falha, boolean lenta) {
+        if (total == janelaFalhas.length) {
+            falhas -= janelaFalhas[posicao] ? 1 : 0;
+            lentas -= janelaLentas[posicao] ? 1 : 0;
+        } else {
+            total++;
+        }
+        janelaFalhas[posicao] = falha;
+        janelaLentas[posicao] = lenta;
+        falhas += falha ? 1 : 0;
+        lentas += lenta ? 1 : 0;
+        posicao = (posicao + 1) % janelaFalhas.length;
+    }
+
+    // Chamado com o lock adquirido
+    private TMDBCircuitoEvent transicionar(Estado novo) {
+        Estado anterior = estado;
+        estado = novo;
+        testesEmAndamento = 0;
+        testesBemSucedidos = 0;
+
+        if (novo == Estado.ABERTO) {
+            abertoAte = System.nanoTime() + duracaoAbertoNanos;
+        } else if (novo == Estado.FECHADO) {
+            posicao = 0;
+            total = 0;
+            falhas = 0;
+            lentas = 0;
+        }
+
+        transicoes.increment();
+        return new TMDBCircuitoEvent(anterior, novo);
+    }
+
+    private void publicar(TMDBCircuitoEvent evento) {
+        if (evento == null) {
+            return;
+        }
+        log.warn("Circuito do TMDB: {} -> {}", evento.getAnterior(), evento.getAtual());
+        eventPublisher.publishEvent(evento);
+    }
+
+    private boolean isFalha(Throwable erro) {
+        if (erro instanceof WebClientResponseException resposta) {
+            return resposta.getStatusCode().is5xxServerError();
+        }
+        return erro instanceof WebClientRequestException || erro instanceof TimeoutException;
+    }
+}
@@ -0,0 +1,23 @@
+package com.filmesapi.modules.filmes.service;
+
+/**
+ * Publicado a cada mudança de estado do {@link TMDBCircuitBreaker}.
+ */
+public class TMDBCircuitoEvent {
+
+    private final TMDBCircuitBreaker.Estado anterior;
+    private final TMDBCircuitBreaker.Estado atual;
+
+    public TMDBCircuitoEvent(TMDBCircuitBreaker.Estado anterior, TMDBCircuitBreaker.Estado atual) {
+        this.anterior = anterior;
+        this.atual = atual;
+    }
+
+    public TMDBCircuitBreaker.Estado getAnterior() {
+        return anterior;
+    }
+
+    public TMDBCircuitBreaker.Estado getAtual() {
+        return atual;
+    }
+}
@@ -0,0 +1,35 @@
+package com.filmesapi.modules.filmes.service;
+
+import java.time.Duration;
+
+public enum TMDBEndpoint {
+    SEARCH("search", Duration.ofMinutes(10), TMDBPrioridade.ALTA),
+    POPULAR("popular", Duration.ofMinutes(30), TMDBPrioridade.NORMAL),
+    DETAILS("details", Duration.ofHours(6), TMDBPrioridade.ALTA),
+    TRENDING("trending", Duration.ofMinutes(5), TMDBPrioridade.NORMAL),
+    NOW_PLAYING("now-playing", Duration.ofMinutes(5), TMDBPrioridade.NORMAL),
+    GENRE("genre", Duration.ofMinutes(30), TMDBPrioridade.BAIXA),
+    GENRES("genres", Duration.ofHours(24), TMDBPrioridade.NORMAL);
+
+    private final String nome;
+    private final Duration ttlPadrao;
+    private final TMDBPrioridade prioridade;
+
+    TMDBEndpoint(String nome, Duration ttlPadrao, TMDBPrioridade prioridade) {
+        this.nome = nome;
+        this.ttlPadrao = ttlPadrao;
+        this.prioridade = prioridade;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public Duration getTtlPadrao() {
+        return ttlPadrao;
+    }
+
+    public TMDBPrioridade getPrioridade() {
+        return prioridade;
+    }
+}
@@ -0,0 +1,16 @@
+package com.filmesapi.modules.filmes.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Lançada quando o circuito do TMDB está aberto e não há resposta anterior
+ * em cache para servir no lugar.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TMDBIndisponivelException extends RuntimeException {
+
+    public TMDBIndisponivelException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,37 @@
+package com.filmesapi.modules.filmes.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converte os corpos do TMDB nos DTOs tipados. A leitura é feita em streaming
+ * pelo JsonParser do Jackson direto para os DTOs, sem montar uma árvore
+ * intermediária; campos que os DTOs não declaram são pulados.
+ */
+@Component
+public class TMDBJsonParser {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public TMDBJsonParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> T parse(byte[] json, Class<T> tipo) {
+        ObjectReader reader = readers.computeIfAbsent(tipo, t -> objectMapper.readerFor(t)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+        try {
+            return reader.readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Resposta do TMDB inválida para " + tipo.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.filmesapi.modules.filmes.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tempo de cada chamada ao TMDB ({@code tmdb.upstream.requests}), por
+ * endpoint e status. Cada tentativa conta separado, inclusive as repetidas
+ * pela política de retry; respostas servidas do cache não passam por aqui.
+ */
+@Component
+class TMDBMetricas {
+
+    static final String TIMER = "tmdb.upstream.requests";
+
+    private final MeterRegistry registry;
+
+    TMDBMetricas(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // Recebe a resposta inteira para marcar o status real (2xx ou 304), e entrega só o corpo
+    Mono<byte[]> medir(TMDBRequest request, Mono<ResponseEntity<byte[]>> chamada) {
+        return Mono.defer(() -> {
+            Timer.Sample amostra = Timer.start(registry);
+            // O cancelamento que chega depois do valor (Mono.next no coalescer) não conta de novo
+            AtomicBoolean registrado = new AtomicBoolean();
+            return chamada
+                    .doOnSuccess(resposta -> registrar(registrado, amostra, request,
+                            resposta != null ? String.valueOf(resposta.getStatusCode().value()) : "UNKNOWN", "SUCCESS"))
+                    .doOnError(erro -> registrar(registrado, amostra, request, status(erro), resultado(erro)))
+                    .doOnCancel(() -> registrar(registrado, amostra, request, "CANCELLED", "UNKNOWN"))
+                    .mapNotNull(ResponseEntity::getBody);
+        });
+    }
+
+    private void registrar(AtomicBoolean registrado, Timer.Sample amostra, TMDBRequest request, String status, String resultado) {
+        if (!registrado.compareAndSet(false, true)) {
+            return;
+        }
+        amostra.stop(Timer.builder(TIMER)
+                .description("Chamadas HTTP ao TMDB")
+                .tag("endpoint", request.getEndpoint().getNome())
+                .tag("status", status)
+                .tag("outcome", resultado)
+                .register(registry));
+    }
+
+    private static String status(Throwable erro) {
+        if (erro instanceof WebClientResponseException resposta) {
+            return String.valueOf(resposta.getStatusCode().value());
+        }
+        return erro instanceof TimeoutException ? "TIMEOUT" : "IO_ERROR";
+    }
+
+    private static String resultado(Throwable erro) {
+        if (erro instanceof WebClientResponseException resposta) {
+            return resposta.getStatusCode().is4xxClientError() ? "CLIENT_ERROR" : "SERVER_ERROR";
+        }
+        return "UNKNOWN";
+    }
+}
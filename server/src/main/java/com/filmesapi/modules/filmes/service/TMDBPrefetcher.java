@@ -0,0 +1,174 @@
+package com.filmesapi.modules.filmes.service;
+
+import com.filmesapi.modules.filmes.cache.CachedResponse;
+import com.filmesapi.modules.filmes.dto.TMDBGenreDTO;
+import com.filmesapi.modules.filmes.dto.TMDBGenreListDTO;
+import com.filmesapi.modules.filmes.dto.TMDBMovieSummaryDTO;
+import com.filmesapi.modules.filmes.dto.TMDBPageDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Antecipa chamadas ao TMDB na faixa de prioridade baixa do limitador.
+ *
+ * Quando uma página de populares ou de um gênero é servida, busca a próxima
+ * página e os detalhes dos primeiros filmes dela. Na subida do servidor,
+ * aquece a lista de gêneros, as primeiras páginas de cada gênero e as listas
+ * em alta, em cartaz e populares.
+ *
+ * Tudo aqui é descartável: sem vaga ({@code tmdb.prefetch.max-in-flight}),
+ * com o circuito aberto ou com a resposta já em cache, nada é buscado.
+ */
+@Component
+public class TMDBPrefetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(TMDBPrefetcher.class);
+
+    private final TMDBService tmdbService;
+    private final TMDBJsonParser jsonParser;
+    private final boolean enabled;
+    private final int detalhes;
+    private final Semaphore vagas;
+    private final boolean warmupEnabled;
+    private final int warmupPaginasPorGenero;
+    private final int warmupConcorrencia;
+
+    private final LongAdder disparados = new LongAdder();
+    private final LongAdder descartados = new LongAdder();
+
+    public TMDBPrefetcher(
+            TMDBService tmdbService,
+            TMDBJsonParser jsonParser,
+            @Value("${tmdb.prefetch.enabled:true}") boolean enabled,
+            @Value("${tmdb.prefetch.details:5}") int detalhes,
+            @Value("${tmdb.prefetch.max-in-flight:8}") int maxEmAndamento,
+            @Value("${tmdb.warmup.enabled:true}") boolean warmupEnabled,
+            @Value("${tmdb.warmup.genre-pages:1}") int warmupPaginasPorGenero,
+            @Value("${tmdb.warmup.concurrency:4}") int warmupConcorrencia) {
+        this.tmdbService = tmdbService;
+        this.jsonParser = jsonParser;
+        this.enabled = enabled;
+        this.detalhes = Math.max(0, detalhes);
+        this.vagas = new Semaphore(Math.max(1, maxEmAndamento));
+        this.warmupEnabled = warmupEnabled;
+        this.warmupPaginasPorGenero = Math.max(1, warmupPaginasPorGenero);
+        this.warmupConcorrencia = Math.max(1, warmupConcorrencia);
+    }
+
+    public void aposPopular(int page) {
+        aposPagina(tmdbService.popular(page), tmdbService.popular(page + 1));
+    }
+
+    public void aposGenero(int genreId, int page) {
+        aposPagina(tmdbService.genre(genreId, page), tmdbService.genre(genreId, page + 1));
+    }
+
+    public long getDisparados() {
+        return disparados.sum();
+    }
+
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    private void aposPagina(TMDBRequest servida, TMDBRequest proxima) {
+        if (!enabled) {
+            return;
+        }
+        CachedResponse atual = tmdbService.emCache(servida);
+        if (atual == null) {
+            return;
+        }
+
+        Schedulers.boundedElastic().schedule(() -> {
+            try {
+                TMDBPageDTO pagina = atual.projetar(TMDBPageDTO.class, jsonParser::parse);
+                if (pagina.getPage() != null && pagina.getTotalPages() != null && pagina.getPage() < pagina.getTotalPages()) {
+                    disparar(proxima);
+                }
+                if (pagina.getResults() != null) {
+                    pagina.getResults().stream()
+                            .limit(detalhes)
+                            .map(TMDBMovieSummaryDTO::getId)
+                            .filter(Objects::nonNull)
+                            .forEach(id -> disparar(tmdbService.details(id)));
+                }
+            } catch (RuntimeException e) {
+                log.debug("Prefetch após página ignorado: {}", e.toString());
+            }
+        });
+    }
+
+    private void disparar(TMDBRequest request) {
+        if (tmdbService.emCache(request) != null) {
+            return;
+        }
+        if (!vagas.tryAcquire()) {
+            descartados.increment();
+            return;
+        }
+        disparados.increment();
+        tmdbService.aquecer(request)
+                .doFinally(sinal -> vagas.release())
+                .subscribe(
+                        entrada -> { },
+                        erro -> log.debug("Prefetch de {} falhou: {}", request.cacheKey(), erro.toString()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecerNaSubida() {
+        if (!warmupEnabled) {
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        tmdbService.aquecer(tmdbService.genres())
+                .map(entrada -> entrada.projetar(TMDBGenreListDTO.class, jsonParser::parse))
+                .map(this::requisicoesDeAquecimento)
+                .onErrorResume(erro -> {
+                    log.warn("Aquecimento sem lista de gêneros: {}", erro.toString());
+                    return Mono.just(requisicoesDeAquecimento(null));
+                })
+                .flatMapMany(Flux::fromIterable)
+                .flatMap(request -> tmdbService.aquecer(request)
+                        .onErrorResume(erro -> {
+                            log.debug("Aquecimento de {} falhou: {}", request.cacheKey(), erro.toString());
+                            return Mono.empty();
+                        }), warmupConcorrencia)
+                .count()
+                .subscribe(total -> log.info("Cache do TMDB aquecido: {} respostas em {} ms",
+                        total, Duration.ofNanos(System.nanoTime() - inicio).toMillis()));
+    }
+
+    private List<TMDBRequest> requisicoesDeAquecimento(TMDBGenreListDTO generos) {
+        List<TMDBRequest> requisicoes = new ArrayList<>();
+        requisicoes.add(tmdbService.trending(1));
+        requisicoes.add(tmdbService.nowPlaying(1));
+        requisicoes.add(tmdbService.popular(1));
+        if (generos != null && generos.getGenres() != null) {
+            for (TMDBGenreDTO genero : generos.getGenres()) {
+                if (genero.getId() == null) {
+                    continue;
+                }
+                for (int page = 1; page <= warmupPaginasPorGenero; page++) {
+                    requisicoes.add(tmdbService.genre(genero.getId(), page));
+                }
+            }
+        }
+        return requisicoes;
+    }
+}
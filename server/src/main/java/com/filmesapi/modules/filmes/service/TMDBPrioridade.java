@@ -0,0 +1,11 @@
+package com.filmesapi.modules.filmes.service;
+
+/**
+ * Prioridade de uma chamada ao TMDB quando o limitador de taxa está saturado.
+ * A ordem das constantes é a ordem de atendimento.
+ */
+public enum TMDBPrioridade {
+    ALTA,
+    NORMAL,
+    BAIXA
+}
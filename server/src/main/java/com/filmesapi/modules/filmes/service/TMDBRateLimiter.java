@@ -0,0 +1,239 @@
+package com.filmesapi.modules.filmes.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket compartilhado por todas as chamadas do {@link TMDBService}.
+ *
+ * Quando não há token, a chamada espera em uma fila por prioridade (ALTA é
+ * atendida primeiro). Com a fila cheia, uma chamada de prioridade maior
+ * descarta a espera mais recente de prioridade menor; se não houver quem
+ * descartar, ela mesma é rejeitada. Um 429 do TMDB pausa a recarga de tokens
+ * até o instante indicado pelo Retry-After.
+ */
+@Component
+public class TMDBRateLimiter {
+
+    private final boolean enabled;
+    private final double capacidade;
+    private final double tokensPorNano;
+    private final int maxFila;
+    private final Duration maxEspera;
+
+    private final Map<TMDBPrioridade, Deque<Espera>> filas = new EnumMap<>(TMDBPrioridade.class);
+    private int totalNaFila;
+    private double tokens;
+    private long ultimaRecarga;
+    private long pausadoAte;
+    private boolean drenagemAgendada;
+
+    private final LongAdder rejeitadas = new LongAdder();
+    private final LongAdder pausas = new LongAdder();
+
+    public TMDBRateLimiter(
+            @Value("${tmdb.rate-limit.enabled:true}") boolean enabled,
+            @Value("${tmdb.rate-limit.requests-per-second:40}") double requestsPerSecond,
+            @Value("${tmdb.rate-limit.burst:40}") int burst,
+            @Value("${tmdb.rate-limit.max-queue:200}") int maxFila,
+            @Value("${tmdb.rate-limit.max-wait:3s}") Duration maxEspera) {
+        this.enabled = enabled;
+        this.capacidade = Math.max(1, burst);
+        this.tokensPorNano = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.maxFila = maxFila;
+        this.maxEspera = maxEspera;
+        this.tokens = capacidade;
+        this.ultimaRecarga = System.nanoTime();
+        this.pausadoAte = ultimaRecarga;
+
+        for (TMDBPrioridade prioridade : TMDBPrioridade.values()) {
+            filas.put(prioridade, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Completa quando um token foi reservado para a chamada. Falha com
+     * {@link TMDBSobrecargaException} se a chamada for descartada ou esperar
+     * mais que {@code tmdb.rate-limit.max-wait}.
+     */
+    public Mono<Void> acquire(TMDBPrioridade prioridade) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return Mono.<Void>create(sink -> registrar(prioridade, sink))
+                .timeout(maxEspera, Mono.error(() -> {
+                    rejeitadas.increment();
+                    return new TMDBSobrecargaException("Tempo de espera por uma vaga no TMDB esgotado");
+                }));
+    }
+
+    /**
+     * Zera os tokens e suspende a recarga pelo tempo indicado (ex.: Retry-After de um 429).
+     */
+    public void pausar(Duration duracao) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            long agora = System.nanoTime();
+            recarregar(agora);
+            tokens = 0;
+            pausadoAte = Math.max(pausadoAte, agora + duracao.toNanos());
+        }
+        pausas.increment();
+    }
+
+    public synchronized double getTokensDisponiveis() {
+        recarregar(System.nanoTime());
+        return tokens;
+    }
+
+    public synchronized int getNaFila() {
+        return totalNaFila;
+    }
+
+    public long getRejeitadas() {
+        return rejeitadas.sum();
+    }
+
+    public long getPausas() {
+        return pausas.sum();
+    }
+
+    private void registrar(TMDBPrioridade prioridade, MonoSink<Void> sink) {
+        Espera descartada = null;
+        boolean liberada = false;
+        boolean rejeitada = false;
+
+        synchronized (this) {
+            long agora = System.nanoTime();
+            recarregar(agora);
+
+            if (!haEsperaComPrioridadeAteh(prioridade) && tokens >= 1) {
+                tokens -= 1;
+                liberada = true;
+            } else {
+                if (totalNaFila >= maxFila) {
+                    descartada = removerMaisRecenteAbaixoDe(prioridade);
+                    rejeitada = descartada == null;
+                }
+                if (!rejeitada) {
+                    Espera espera = new Espera(sink);
+                    filas.get(prioridade).addLast(espera);
+                    totalNaFila++;
+                    sink.onCancel(() -> cancelar(prioridade, espera));
+                    agendarDrenagem(agora);
+                }
+            }
+        }
+
+        if (liberada) {
+            sink.success();
+        } else if (rejeitada) {
+            rejeitadas.increment();
+            sink.error(new TMDBSobrecargaException("Fila de chamadas ao TMDB cheia"));
+        }
+        if (descartada != null) {
+            rejeitadas.increment();
+            descartada.sink.error(new TMDBSobrecargaException("Chamada descartada por outra de maior prioridade"));
+        }
+    }
+
+    private void drenar() {
+        List<Espera> liberadas = new ArrayList<>();
+
+        synchronized (this) {
+            drenagemAgendada = false;
+            long agora = System.nanoTime();
+            recarregar(agora);
+
+            for (Deque<Espera> fila : filas.values()) {
+                while (tokens >= 1 && !fila.isEmpty()) {
+                    liberadas.add(fila.pollFirst());
+                    totalNaFila--;
+                    tokens -= 1;
+                }
+            }
+
+            if (totalNaFila > 0) {
+                agendarDrenagem(agora);
+            }
+        }
+
+        liberadas.forEach(espera -> espera.sink.success());
+    }
+
+    private synchronized void cancelar(TMDBPrioridade prioridade, Espera espera) {
+        if (filas.get(prioridade).remove(espera)) {
+            totalNaFila--;
+        }
+    }
+
+    // Chamado com o lock adquirido
+    private void agendarDrenagem(long agora) {
+        if (drenagemAgendada) {
+            return;
+        }
+        drenagemAgendada = true;
+
+        long ateRecarga = agora < pausadoAte ? pausadoAte - agora : 0;
+        long ateToken = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPorNano);
+        Schedulers.parallel().schedule(this::drenar, ateRecarga + ateToken, TimeUnit.NANOSECONDS);
+    }
+
+    // Chamado com o lock adquirido
+    private void recarregar(long agora) {
+        long inicio = Math.max(ultimaRecarga, pausadoAte);
+        if (agora > inicio) {
+            tokens = Math.min(capacidade, tokens + (agora - inicio) * tokensPorNano);
+        }
+        ultimaRecarga = Math.max(ultimaRecarga, agora);
+    }
+
+    // Chamado com o lock adquirido
+    private boolean haEsperaComPrioridadeAteh(TMDBPrioridade prioridade) {
+        for (TMDBPrioridade atual : TMDBPrioridade.values()) {
+            if (!filas.get(atual).isEmpty()) {
+                return true;
+            }
+            if (atual == prioridade) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    // Chamado com o lock adquirido
+    private Espera removerMaisRecenteAbaixoDe(TMDBPrioridade prioridade) {
+        TMDBPrioridade[] prioridades = TMDBPrioridade.values();
+        for (int i = prioridades.length - 1; i > prioridade.ordinal(); i--) {
+            Espera espera = filas.get(prioridades[i]).pollLast();
+            if (espera != null) {
+                totalNaFila--;
+                return espera;
+            }
+        }
+        return null;
+    }
+
+    private static class Espera {
+        private final MonoSink<Void> sink;
+
+        private Espera(MonoSink<Void> sink) {
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.filmesapi.modules.filmes.service;
+
+import org.springframework.web.util.UriBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Descreve uma chamada GET ao TMDB: endpoint lógico, path e parâmetros.
+ * A chave de cache é derivada do path expandido e dos parâmetros ordenados.
+ */
+public class TMDBRequest {
+
+    private final TMDBEndpoint endpoint;
+    private final String path;
+    private final Object[] uriVariables;
+    private final Map<String, Object> queryParams = new TreeMap<>();
+    private TMDBPrioridade prioridade;
+
+    private TMDBRequest(TMDBEndpoint endpoint, String path, Object... uriVariables) {
+        this.endpoint = endpoint;
+        this.path = path;
+        this.uriVariables = uriVariables;
+        this.prioridade = endpoint.getPrioridade();
+    }
+
+    public static TMDBRequest of(TMDBEndpoint endpoint, String path, Object... uriVariables) {
+        return new TMDBRequest(endpoint, path, uriVariables);
+    }
+
+    public TMDBRequest param(String name, Object value) {
+        queryParams.put(name, value);
+        return this;
+    }
+
+    public TMDBRequest prioridade(TMDBPrioridade prioridade) {
+        this.prioridade = prioridade;
+        return this;
+    }
+
+    public TMDBEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public TMDBPrioridade getPrioridade() {
+        return prioridade;
+    }
+
+    public URI toUri(UriBuilder uriBuilder) {
+        uriBuilder.path(path);
+        queryParams.forEach(uriBuilder::queryParam);
+        return uriBuilder.build(uriVariables);
+    }
+
+    public String cacheKey() {
+        String expandedPath = UriComponentsBuilder.fromPath(path)
+                .buildAndExpand(uriVariables)
+                .toUriString();
+        String query = queryParams.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining("&"));
+        return endpoint.getNome() + ":" + expandedPath + (query.isEmpty() ? "" : "?" + query);
+    }
+
+    @Override
+    public String toString() {
+        return cacheKey();
+    }
+}
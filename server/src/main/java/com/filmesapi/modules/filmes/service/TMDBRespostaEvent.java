@@ -0,0 +1,24 @@
+package com.filmesapi.modules.filmes.service;
+
+import com.filmesapi.modules.filmes.cache.CachedResponse;
+
+/**
+ * Publicado quando uma resposta nova chega do TMDB (não para acertos de
+ * cache), para quem precisa acompanhar os filmes vistos pelo servidor.
+ */
+public class TMDBRespostaEvent {
+
+    private final CachedResponse resposta;
+
+    public TMDBRespostaEvent(CachedResponse resposta) {
+        this.resposta = resposta;
+    }
+
+    public TMDBEndpoint getEndpoint() {
+        return resposta.getEndpoint();
+    }
+
+    public CachedResponse getResposta() {
+        return resposta;
+    }
+}
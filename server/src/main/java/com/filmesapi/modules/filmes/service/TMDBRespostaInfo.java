@@ -0,0 +1,61 @@
+package com.filmesapi.modules.filmes.service;
+
+import com.filmesapi.modules.filmes.cache.CachedResponse;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Metadados de uma resposta do {@link TMDBService} que o controller transforma
+ * em cabeçalhos HTTP. O controller registra uma instância no Context do
+ * Reactor e o serviço a preenche ao responder.
+ */
+public class TMDBRespostaInfo {
+
+    private static final String CHAVE = TMDBRespostaInfo.class.getName();
+
+    private volatile boolean stale;
+    private volatile long armazenadoEm;
+    private volatile TMDBEndpoint endpoint;
+    private volatile String etag;
+    private volatile long expiraEm;
+
+    public Context registrar(Context context) {
+        return context.put(CHAVE, this);
+    }
+
+    static void marcarStale(ContextView context, CachedResponse response) {
+        context.<TMDBRespostaInfo>getOrEmpty(CHAVE).ifPresent(info -> {
+            info.stale = true;
+            info.armazenadoEm = response.getArmazenadoEm();
+        });
+    }
+
+    static void registrarEntrada(ContextView context, CachedResponse response) {
+        context.<TMDBRespostaInfo>getOrEmpty(CHAVE).ifPresent(info -> {
+            info.endpoint = response.getEndpoint();
+            info.etag = response.getEtag();
+            info.expiraEm = response.getExpiraEm();
+            info.armazenadoEm = response.getArmazenadoEm();
+        });
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    public long getArmazenadoEm() {
+        return armazenadoEm;
+    }
+
+    public TMDBEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public long getExpiraEm() {
+        return expiraEm;
+    }
+}
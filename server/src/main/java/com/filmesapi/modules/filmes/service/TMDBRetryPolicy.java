@@ -0,0 +1,119 @@
+package com.filmesapi.modules.filmes.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Nova tentativa com backoff exponencial e jitter para 429, 5xx de gateway e
+ * falhas de conexão com o TMDB. Quando a resposta traz Retry-After, o atraso
+ * respeita esse valor e o {@link TMDBRateLimiter} é pausado pelo mesmo tempo.
+ */
+@Component
+public class TMDBRetryPolicy {
+
+    private final TMDBRateLimiter rateLimiter;
+    private final int maxRetries;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder respostas429 = new LongAdder();
+
+    public TMDBRetryPolicy(
+            TMDBRateLimiter rateLimiter,
+            @Value("${tmdb.retry.max-retries:3}") int maxRetries,
+            @Value("${tmdb.retry.min-backoff:200ms}") Duration minBackoff,
+            @Value("${tmdb.retry.max-backoff:5s}") Duration maxBackoff) {
+        this.rateLimiter = rateLimiter;
+        this.maxRetries = maxRetries;
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    public Retry spec() {
+        return Retry.from(sinais -> sinais.concatMap(sinal -> {
+            Throwable erro = sinal.failure();
+            Optional<Duration> retryAfter = Optional.empty();
+
+            if (erro instanceof WebClientResponseException resposta
+                    && resposta.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                respostas429.increment();
+                retryAfter = retryAfter(resposta.getHeaders());
+                rateLimiter.pausar(retryAfter.orElse(minBackoff));
+            }
+
+            if (!isRetentavel(erro) || sinal.totalRetries() >= maxRetries) {
+                return Mono.error(erro);
+            }
+
+            retries.increment();
+            return Mono.delay(retryAfter.orElseGet(() -> backoff(sinal.totalRetries())));
+        }));
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getRespostas429() {
+        return respostas429.sum();
+    }
+
+    private boolean isRetentavel(Throwable erro) {
+        if (erro instanceof WebClientResponseException resposta) {
+            int status = resposta.getStatusCode().value();
+            return status == HttpStatus.TOO_MANY_REQUESTS.value()
+                    || status == HttpStatus.BAD_GATEWAY.value()
+                    || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || status == HttpStatus.GATEWAY_TIMEOUT.value();
+        }
+        return erro instanceof WebClientRequestException;
+    }
+
+    // Jitter: atraso uniforme entre metade e o total do backoff exponencial
+    private Duration backoff(long tentativa) {
+        long base = minBackoff.toMillis() << Math.min(tentativa, 20);
+        long teto = Math.min(base, maxBackoff.toMillis());
+        long atraso = teto / 2 + ThreadLocalRandom.current().nextLong(teto / 2 + 1);
+        return Duration.ofMillis(atraso);
+    }
+
+    private Optional<Duration> retryAfter(HttpHeaders headers) {
+        String valor = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (valor == null || valor.isBlank()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(limitar(Duration.ofSeconds(Long.parseLong(valor.trim()))));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime quando = ZonedDateTime.parse(valor.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Optional.of(limitar(Duration.between(ZonedDateTime.now(quando.getZone()), quando)));
+            } catch (DateTimeParseException ignored) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private Duration limitar(Duration atraso) {
+        if (atraso.isNegative()) {
+            return Duration.ZERO;
+        }
+        return atraso.compareTo(maxBackoff) > 0 ? maxBackoff : atraso;
+    }
+}
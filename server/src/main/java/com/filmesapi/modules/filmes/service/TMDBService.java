@@ -1,105 +1,375 @@
 package com.filmesapi.modules.filmes.service;
 
+import com.filmesapi.modules.filmes.cache.CachedResponse;
+import com.filmesapi.modules.filmes.cache.RequestCoalescer;
+import com.filmesapi.modules.filmes.cache.TMDBResponseCache;
+import com.filmesapi.modules.filmes.dto.FilmeBatchFalhaDTO;
+import com.filmesapi.modules.filmes.dto.FilmeBatchResponseDTO;
+import com.filmesapi.modules.filmes.dto.TMDBGenreListDTO;
+import com.filmesapi.modules.filmes.dto.TMDBMovieDetailsDTO;
+import com.filmesapi.modules.filmes.dto.TMDBPageDTO;
+import com.filmesapi.modules.filmes.dto.UpstreamStatsDTO;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+
 @Service
 public class TMDBService {
 
+    private static final Logger log = LoggerFactory.getLogger(TMDBService.class);
+    private static final String LANGUAGE = "pt-BR";
+    // Limite de chaves servidas como stale aguardando revalidação
+    private static final int MAX_REVALIDACOES = 1000;
+
     private final WebClient webClient;
-    
+    private final TMDBResponseCache responseCache;
+    private final RequestCoalescer coalescer;
+    private final TMDBRateLimiter rateLimiter;
+    private final TMDBRetryPolicy retryPolicy;
+    private final TMDBCircuitBreaker circuitBreaker;
+    private final TMDBJsonParser jsonParser;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TMDBMetricas metricas;
+    private final ConcurrentMap<String, TMDBRequest> pendentesDeRevalidacao = new ConcurrentHashMap<>();
+
     @Value("${tmdb.api.key}")
     private String apiKey;
 
-    public TMDBService(WebClient tmdbWebClient) {
+    @Value("${tmdb.batch.concurrency:8}")
+    private int batchConcurrency;
+
+    @Value("${tmdb.batch.max-ids:500}")
+    private int batchMaxIds;
+
+    public TMDBService(WebClient tmdbWebClient, TMDBResponseCache responseCache, RequestCoalescer coalescer,
+                       TMDBRateLimiter rateLimiter, TMDBRetryPolicy retryPolicy, TMDBCircuitBreaker circuitBreaker,
+                       TMDBJsonParser jsonParser, ApplicationEventPublisher eventPublisher, TMDBMetricas metricas) {
         this.webClient = tmdbWebClient;
+        this.responseCache = responseCache;
+        this.coalescer = coalescer;
+        this.rateLimiter = rateLimiter;
+        this.retryPolicy = retryPolicy;
+        this.circuitBreaker = circuitBreaker;
+        this.jsonParser = jsonParser;
+        this.eventPublisher = eventPublisher;
+        this.metricas = metricas;
     }
 
-    public Mono<String> searchMovies(String query, int page) {
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/search/movie")
-                        .queryParam("query", query)
-                        .queryParam("page", page)
-                        .queryParam("language", "pt-BR")
-                        .build())
-                .header("Authorization", "Bearer " + apiKey)
-                .retrieve()
-                .bodyToMono(String.class);
+    public Mono<byte[]> searchMovies(String query, int page) {
+        return fetch(search(query, page));
     }
 
-    public Mono<String> getPopularMovies(int page) {
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/movie/popular")
-                        .queryParam("page", page)
-                        .queryParam("language", "pt-BR")
-                        .build())
-                .header("Authorization", "Bearer " + apiKey)
-                .retrieve()
-                .bodyToMono(String.class);
+    public Mono<byte[]> getPopularMovies(int page) {
+        return fetch(popular(page));
     }
 
-    public Mono<String> getMovieDetails(Long tmdbId) {
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/movie/{id}")
-                        .queryParam("language", "pt-BR")
-                        .build(tmdbId))
-                .header("Authorization", "Bearer " + apiKey)
-                .retrieve()
-                .bodyToMono(String.class);
+    public Mono<byte[]> getMovieDetails(Long tmdbId) {
+        return fetch(details(tmdbId));
     }
 
-    public Mono<String> getTrendingMovies(int page) {
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/trending/movie/week")
-                        .queryParam("page", page)
-                        .queryParam("language", "pt-BR")
-                        .build())
-                .header("Authorization", "Bearer " + apiKey)
-                .retrieve()
-                .bodyToMono(String.class);
+    /**
+     * Busca os detalhes de vários filmes de uma vez, com no máximo
+     * {@code tmdb.batch.concurrency} chamadas simultâneas ao TMDB. Ids que
+     * falharem são reportados individualmente em {@code falhas}.
+     */
+    public Mono<FilmeBatchResponseDTO> getMovieDetailsBatch(List<Long> tmdbIds) {
+        if (tmdbIds == null || tmdbIds.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Informe ao menos um id"));
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(tmdbIds);
+        ids.removeIf(Objects::isNull);
+        if (ids.isEmpty() || ids.size() > batchMaxIds) {
+            return Mono.error(new IllegalArgumentException("Quantidade de ids deve estar entre 1 e " + batchMaxIds));
+        }
+
+        return Flux.fromIterable(ids)
+                .flatMapSequential(id -> getMovieDetails(id)
+                        .map(body -> new ResultadoDetalhe(body, null))
+                        .onErrorResume(erro -> Mono.just(new ResultadoDetalhe(null, toFalha(id, erro)))),
+                        batchConcurrency)
+                .collectList()
+                .map(resultados -> {
+                    List<RawValue> filmes = new ArrayList<>(resultados.size());
+                    List<FilmeBatchFalhaDTO> falhas = new ArrayList<>();
+                    for (ResultadoDetalhe resultado : resultados) {
+                        if (resultado.falha != null) {
+                            falhas.add(resultado.falha);
+                        } else {
+                            filmes.add(new RawValue(new String(resultado.body, StandardCharsets.UTF_8)));
+                        }
+                    }
+                    return new FilmeBatchResponseDTO(filmes, falhas);
+                });
     }
 
-    public Mono<String> getNowPlayingMovies(int page) {
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/movie/now_playing")
-                        .queryParam("page", page)
-                        .queryParam("language", "pt-BR")
-                        .queryParam("region", "BR")
-                        .build())
-                .header("Authorization", "Bearer " + apiKey)
-                .retrieve()
-                .bodyToMono(String.class);
-    }
-
-    public Mono<String> getMoviesByGenre(int genreId, int page) {
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/discover/movie")
-                        .queryParam("with_genres", genreId)
-                        .queryParam("page", page)
-                        .queryParam("language", "pt-BR")
-                        .queryParam("sort_by", "popularity.desc")
-                        .build())
-                .header("Authorization", "Bearer " + apiKey)
-                .retrieve()
-                .bodyToMono(String.class);
+    public Mono<byte[]> getTrendingMovies(int page) {
+        return fetch(trending(page));
+    }
+
+    public Mono<byte[]> getNowPlayingMovies(int page) {
+        return fetch(nowPlaying(page));
+    }
+
+    public Mono<byte[]> getMoviesByGenre(int genreId, int page) {
+        return fetch(genre(genreId, page));
+    }
+
+    public Mono<byte[]> getGenreList() {
+        return fetch(genres());
+    }
+
+    // Versões tipadas: o corpo em cache é convertido uma única vez por entrada
+
+    public Mono<TMDBPageDTO> searchMoviesPage(String query, int page) {
+        return fetchTyped(search(query, page), TMDBPageDTO.class);
+    }
+
+    public Mono<TMDBPageDTO> getPopularMoviesPage(int page) {
+        return fetchTyped(popular(page), TMDBPageDTO.class);
+    }
+
+    public Mono<TMDBPageDTO> getTrendingMoviesPage(int page) {
+        return fetchTyped(trending(page), TMDBPageDTO.class);
+    }
+
+    public Mono<TMDBPageDTO> getNowPlayingMoviesPage(int page) {
+        return fetchTyped(nowPlaying(page), TMDBPageDTO.class);
+    }
+
+    public Mono<TMDBPageDTO> getMoviesByGenrePage(int genreId, int page) {
+        return fetchTyped(genre(genreId, page), TMDBPageDTO.class);
+    }
+
+    public Mono<TMDBMovieDetailsDTO> getMovieDetailsCompact(Long tmdbId) {
+        return fetchTyped(details(tmdbId), TMDBMovieDetailsDTO.class);
+    }
+
+    public Mono<TMDBGenreListDTO> getGenres() {
+        return fetchTyped(genres(), TMDBGenreListDTO.class);
+    }
+
+    // Importação de arquivos: mesma busca e mesmos detalhes em cache, mas atrás
+    // das requisições de usuários
+    public Mono<TMDBPageDTO> searchMoviesForImport(String query, String year) {
+        TMDBRequest request = search(query, 1);
+        if (year != null && !year.isBlank()) {
+            request.param("year", year);
+        }
+        return fetchTyped(request.prioridade(TMDBPrioridade.BAIXA), TMDBPageDTO.class);
+    }
+
+    public Mono<TMDBMovieDetailsDTO> getMovieDetailsForImport(Long tmdbId) {
+        return fetchTyped(details(tmdbId).prioridade(TMDBPrioridade.BAIXA), TMDBMovieDetailsDTO.class);
     }
 
-    public Mono<String> getGenreList() {
-        return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/genre/movie/list")
-                        .queryParam("language", "pt-BR")
-                        .build())
+    // Usado pela sincronização do catálogo local, atrás das requisições de usuários
+    Mono<TMDBPageDTO> getCatalogoPage(ListaCatalogo lista, int page) {
+        TMDBRequest request = switch (lista) {
+            case POPULAR -> popular(page);
+            case TRENDING -> trending(page);
+            case NOW_PLAYING -> nowPlaying(page);
+        };
+        return fetchTyped(request.prioridade(TMDBPrioridade.BAIXA), TMDBPageDTO.class);
+    }
+
+    TMDBRequest search(String query, int page) {
+        return TMDBRequest.of(TMDBEndpoint.SEARCH, "/search/movie")
+                .param("query", query)
+                .param("page", page)
+                .param("language", LANGUAGE);
+    }
+
+    TMDBRequest popular(int page) {
+        return TMDBRequest.of(TMDBEndpoint.POPULAR, "/movie/popular")
+                .param("page", page)
+                .param("language", LANGUAGE);
+    }
+
+    TMDBRequest details(Long tmdbId) {
+        return TMDBRequest.of(TMDBEndpoint.DETAILS, "/movie/{id}", tmdbId)
+                .param("language", LANGUAGE);
+    }
+
+    TMDBRequest trending(int page) {
+        return TMDBRequest.of(TMDBEndpoint.TRENDING, "/trending/movie/week")
+                .param("page", page)
+                .param("language", LANGUAGE);
+    }
+
+    TMDBRequest nowPlaying(int page) {
+        return TMDBRequest.of(TMDBEndpoint.NOW_PLAYING, "/movie/now_playing")
+                .param("page", page)
+                .param("language", LANGUAGE)
+                .param("region", "BR");
+    }
+
+    TMDBRequest genre(int genreId, int page) {
+        return TMDBRequest.of(TMDBEndpoint.GENRE, "/discover/movie")
+                .param("with_genres", genreId)
+                .param("page", page)
+                .param("language", LANGUAGE)
+                .param("sort_by", "popularity.desc");
+    }
+
+    TMDBRequest genres() {
+        return TMDBRequest.of(TMDBEndpoint.GENRES, "/genre/movie/list")
+                .param("language", LANGUAGE);
+    }
+
+    CachedResponse emCache(TMDBRequest request) {
+        return responseCache.peek(request.cacheKey());
+    }
+
+    // Aquecimento e prefetch: prioridade baixa, sem passar pelas estatísticas do
+    // cache e sem insistir enquanto o circuito não estiver fechado
+    Mono<CachedResponse> aquecer(TMDBRequest request) {
+        String key = request.cacheKey();
+        CachedResponse emCache = responseCache.peek(key);
+        if (emCache != null) {
+            return Mono.just(emCache);
+        }
+        if (circuitBreaker.getEstado() != TMDBCircuitBreaker.Estado.FECHADO) {
+            return Mono.empty();
+        }
+        request.prioridade(TMDBPrioridade.BAIXA);
+        return coalescer.execute(key, () -> upstream(request)
+                .map(body -> armazenar(key, request, body)));
+    }
+
+    private Mono<byte[]> fetch(TMDBRequest request) {
+        return fetchEntry(request).map(CachedResponse::getBody);
+    }
+
+    private <T> Mono<T> fetchTyped(TMDBRequest request, Class<T> tipo) {
+        return fetchEntry(request).map(entrada -> entrada.projetar(tipo, jsonParser::parse));
+    }
+
+    private Mono<CachedResponse> fetchEntry(TMDBRequest request) {
+        String key = request.cacheKey();
+        return responseCache.lookup(key)
+                .switchIfEmpty(coalescer.execute(key, () -> upstream(request)
+                        .map(body -> armazenar(key, request, body))))
+                .onErrorResume(this::isIndisponibilidade, erro -> servirStale(key, request, erro))
+                .transformDeferredContextual((resposta, context) -> resposta
+                        .doOnNext(entrada -> TMDBRespostaInfo.registrarEntrada(context, entrada)));
+    }
+
+    private CachedResponse armazenar(String key, TMDBRequest request, byte[] body) {
+        CachedResponse entrada = responseCache.put(key, request.getEndpoint(), body);
+        eventPublisher.publishEvent(new TMDBRespostaEvent(entrada));
+        return entrada;
+    }
+
+    // Com o TMDB fora, responde com a última resposta conhecida e agenda a revalidação
+    private Mono<CachedResponse> servirStale(String key, TMDBRequest request, Throwable erro) {
+        return responseCache.lookupStale(key)
+                .flatMap(antiga -> Mono.deferContextual(context -> {
+                    TMDBRespostaInfo.marcarStale(context, antiga);
+                    if (pendentesDeRevalidacao.size() < MAX_REVALIDACOES) {
+                        pendentesDeRevalidacao.putIfAbsent(key, request);
+                    }
+                    return Mono.just(antiga);
+                }))
+                .switchIfEmpty(Mono.error(erro));
+    }
+
+    @EventListener
+    public void onCircuitoAlterado(TMDBCircuitoEvent evento) {
+        if (evento.getAtual() != TMDBCircuitBreaker.Estado.FECHADO || pendentesDeRevalidacao.isEmpty()) {
+            return;
+        }
+
+        log.info("Circuito do TMDB fechado, revalidando {} respostas servidas como stale", pendentesDeRevalidacao.size());
+        pendentesDeRevalidacao.forEach((key, request) -> {
+            pendentesDeRevalidacao.remove(key, request);
+            request.prioridade(TMDBPrioridade.BAIXA);
+            coalescer.execute(key, () -> upstream(request)
+                            .map(body -> armazenar(key, request, body)))
+                    .subscribe(
+                            body -> { },
+                            falha -> log.debug("Revalidação de {} falhou: {}", key, falha.toString()));
+        });
+    }
+
+    public UpstreamStatsDTO getUpstreamStats() {
+        return new UpstreamStatsDTO(
+                coalescer.getLeaders(),
+                coalescer.getCollapsed(),
+                coalescer.getInFlight(),
+                rateLimiter.getTokensDisponiveis(),
+                rateLimiter.getNaFila(),
+                rateLimiter.getRejeitadas(),
+                retryPolicy.getRetries(),
+                retryPolicy.getRespostas429(),
+                circuitBreaker.getEstado().name(),
+                circuitBreaker.getTransicoes(),
+                circuitBreaker.getRejeitadas());
+    }
+
+    // Cada tentativa (inclusive as novas tentativas) consome um token do limitador
+    // e é contabilizada individualmente pelo circuit breaker
+    private Mono<byte[]> upstream(TMDBRequest request) {
+        return Mono.defer(() -> rateLimiter.acquire(request.getPrioridade())
+                        .then(circuitBreaker.proteger(exchange(request))))
+                .retryWhen(retryPolicy.spec());
+    }
+
+    private boolean isIndisponibilidade(Throwable erro) {
+        if (erro instanceof WebClientResponseException resposta) {
+            int status = resposta.getStatusCode().value();
+            return status == HttpStatus.TOO_MANY_REQUESTS.value() || resposta.getStatusCode().is5xxServerError();
+        }
+        return erro instanceof TMDBIndisponivelException
+                || erro instanceof TMDBSobrecargaException
+                || erro instanceof WebClientRequestException
+                || erro instanceof TimeoutException;
+    }
+
+    private FilmeBatchFalhaDTO toFalha(Long tmdbId, Throwable erro) {
+        if (erro instanceof WebClientResponseException resposta) {
+            return new FilmeBatchFalhaDTO(tmdbId, resposta.getStatusCode().value(), resposta.getStatusText());
+        }
+        return new FilmeBatchFalhaDTO(tmdbId, HttpStatus.BAD_GATEWAY.value(), "Falha ao consultar o TMDB");
+    }
+
+    // O corpo é mantido nos bytes originais (UTF-8): sem decodificar para String
+    // aqui nem recodificar na resposta ao cliente
+    private Mono<byte[]> exchange(TMDBRequest request) {
+        return metricas.medir(request, webClient.get()
+                .uri(request::toUri)
                 .header("Authorization", "Bearer " + apiKey)
                 .retrieve()
-                .bodyToMono(String.class);
+                .toEntity(byte[].class));
+    }
+
+    private static class ResultadoDetalhe {
+        private final byte[] body;
+        private final FilmeBatchFalhaDTO falha;
+
+        private ResultadoDetalhe(byte[] body, FilmeBatchFalhaDTO falha) {
+            this.body = body;
+            this.falha = falha;
+        }
     }
 }
@@ -0,0 +1,16 @@
+package com.filmesapi.modules.filmes.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Lançada quando o limitador de taxa descarta uma chamada ao TMDB porque a
+ * fila está cheia ou a espera por um token excedeu o limite.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TMDBSobrecargaException extends RuntimeException {
+
+    public TMDBSobrecargaException(String message) {
+        super(message);
+    }
+}
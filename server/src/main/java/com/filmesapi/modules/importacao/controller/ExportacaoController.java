@@ -0,0 +1,42 @@
+package com.filmesapi.modules.importacao.controller;
+
+import com.filmesapi.modules.importacao.service.ConteudoTransferencia;
+import com.filmesapi.modules.importacao.service.ExportacaoService;
+import com.filmesapi.modules.importacao.service.FormatoArquivo;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/exportacao")
+public class ExportacaoController {
+
+    private final ExportacaoService exportacaoService;
+
+    public ExportacaoController(ExportacaoService exportacaoService) {
+        this.exportacaoService = exportacaoService;
+    }
+
+    @GetMapping("/usuario/{usuarioId}")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @PathVariable Long usuarioId,
+            @RequestParam String conteudo,
+            @RequestParam(defaultValue = "csv") String formato) {
+        ConteudoTransferencia tipo;
+        FormatoArquivo arquivo;
+        try {
+            tipo = ConteudoTransferencia.de(conteudo);
+            arquivo = FormatoArquivo.de(formato);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String nome = "cinelist-" + tipo.getNome() + "-" + usuarioId + "." + arquivo.getExtensao();
+        return ResponseEntity.ok()
+                .contentType(arquivo.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(nome).build().toString())
+                .body(saida -> exportacaoService.exportar(usuarioId, tipo, arquivo, saida));
+    }
+}
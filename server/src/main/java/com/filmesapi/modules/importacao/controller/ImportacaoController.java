@@ -0,0 +1,59 @@
+package com.filmesapi.modules.importacao.controller;
+
+import com.filmesapi.modules.importacao.dto.JobImportacaoDTO;
+import com.filmesapi.modules.importacao.service.ConteudoTransferencia;
+import com.filmesapi.modules.importacao.service.FormatoArquivo;
+import com.filmesapi.modules.importacao.service.ImportacaoService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/importacao")
+public class ImportacaoController {
+
+    private final ImportacaoService importacaoService;
+
+    public ImportacaoController(ImportacaoService importacaoService) {
+        this.importacaoService = importacaoService;
+    }
+
+    /**
+     * Recebe o arquivo como corpo da requisição (text/csv ou
+     * application/x-ndjson) e responde 202 com o job; o progresso fica em
+     * GET /api/importacao/{jobId}.
+     */
+    @PostMapping("/usuario/{usuarioId}")
+    public ResponseEntity<?> importar(
+            @PathVariable Long usuarioId,
+            @RequestParam String conteudo,
+            @RequestParam(defaultValue = "csv") String formato,
+            @RequestParam(required = false) String lista,
+            InputStream corpo) {
+        try {
+            JobImportacaoDTO job = importacaoService.iniciar(usuarioId, ConteudoTransferencia.de(conteudo),
+                    FormatoArquivo.de(formato), lista, corpo);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/importacao/" + job.getId()))
+                    .body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Erro ao receber o arquivo"));
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<JobImportacaoDTO> progresso(@PathVariable String jobId) {
+        return importacaoService.progresso(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,28 @@
+package com.filmesapi.modules.importacao.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobImportacaoDTO {
+    private String id;
+    private Long usuarioId;
+    private String conteudo;
+    private String formato;
+    // PENDENTE, PROCESSANDO, CONCLUIDO ou FALHOU
+    private String status;
+    private long linhasLidas;
+    private long importadas;
+    private long ignoradas;
+    private long naoResolvidas;
+    private long bytes;
+    private List<String> erros;
+    private LocalDateTime criadoEm;
+    private LocalDateTime concluidoEm;
+}
@@ -0,0 +1,99 @@
+package com.filmesapi.modules.importacao.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Leitura e escrita incremental de arquivos de filmes: uma linha por vez, sem
+ * carregar o arquivo inteiro.
+ */
+@Component
+class ArquivoFilmes {
+
+    private final ObjectReader leitorCsv;
+    private final ObjectWriter escritorCsv;
+    private final ObjectReader leitorNdjson;
+    private final JsonMapper json;
+
+    ArquivoFilmes() {
+        // O stream de saída é do servlet: quem fecha é o Spring
+        CsvMapper csv = CsvMapper.builder().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET).build();
+        this.json = JsonMapper.builder()
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .build();
+
+        CsvSchema.Builder colunas = CsvSchema.builder();
+        for (String coluna : LinhaFilme.COLUNAS) {
+            colunas.addColumn(coluna);
+        }
+        this.leitorCsv = csv.readerFor(Map.class).with(CsvSchema.emptySchema().withHeader());
+        this.escritorCsv = csv.writer(colunas.build().withHeader());
+        this.leitorNdjson = json.readerFor(Map.class);
+    }
+
+    MappingIterator<Map<String, Object>> ler(FormatoArquivo formato, InputStream entrada) throws IOException {
+        return formato == FormatoArquivo.CSV ? leitorCsv.readValues(entrada) : leitorNdjson.readValues(entrada);
+    }
+
+    Escritor escritor(FormatoArquivo formato, OutputStream saida) throws IOException {
+        if (formato == FormatoArquivo.CSV) {
+            return new Escritor(escritorCsv.writeValues(saida), null);
+        }
+        JsonGenerator gerador = json.createGenerator(saida);
+        // Cada objeto termina a própria linha, inclusive o último
+        gerador.setRootValueSeparator(null);
+        return new Escritor(null, gerador);
+    }
+
+    class Escritor implements Closeable {
+
+        private final SequenceWriter csv;
+        private final JsonGenerator ndjson;
+
+        private Escritor(SequenceWriter csv, JsonGenerator ndjson) {
+            this.csv = csv;
+            this.ndjson = ndjson;
+        }
+
+        void escrever(LinhaFilme linha) throws IOException {
+            if (csv != null) {
+                csv.write(linha.valores());
+            } else {
+                json.writeValue(ndjson, linha.comoMapa());
+                ndjson.writeRaw('\n');
+            }
+        }
+
+        void flush() throws IOException {
+            if (csv != null) {
+                csv.flush();
+            } else {
+                ndjson.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (csv != null) {
+                csv.close();
+            } else {
+                ndjson.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.filmesapi.modules.importacao.service;
+
+/**
+ * O que um arquivo de importação/exportação carrega: histórico de filmes
+ * assistidos (FilmeUsuario), filmes das listas ou reviews.
+ */
+public enum ConteudoTransferencia {
+    HISTORICO,
+    LISTAS,
+    REVIEWS;
+
+    public static ConteudoTransferencia de(String valor) {
+        for (ConteudoTransferencia conteudo : values()) {
+            if (conteudo.name().equalsIgnoreCase(valor)) {
+                return conteudo;
+            }
+        }
+        throw new IllegalArgumentException("Conteúdo inválido: " + valor);
+    }
+
+    public String getNome() {
+        return name().toLowerCase();
+    }
+}
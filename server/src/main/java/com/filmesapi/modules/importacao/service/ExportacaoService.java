@@ -0,0 +1,137 @@
+package com.filmesapi.modules.importacao.service;
+
+import com.filmesapi.modules.dashboard.model.ListaFilme;
+import com.filmesapi.modules.dashboard.repository.ListaFilmeRepository;
+import com.filmesapi.modules.filmes.model.FilmeUsuario;
+import com.filmesapi.modules.filmes.repository.FilmeUsuarioRepository;
+import com.filmesapi.modules.reviews.model.Review;
+import com.filmesapi.modules.reviews.repository.ReviewRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Exportação em CSV/NDJSON no mesmo formato aceito pela importação. Os
+ * registros são lidos em páginas de {@code exportacao.pagina} pelo id e
+ * escritos assim que chegam, então a memória não cresce com o histórico.
+ */
+@Service
+public class ExportacaoService {
+
+    private final ArquivoFilmes arquivoFilmes;
+    private final FilmeUsuarioRepository filmeUsuarioRepository;
+    private final ListaFilmeRepository listaFilmeRepository;
+    private final ReviewRepository reviewRepository;
+    private final int tamanhoPagina;
+
+    public ExportacaoService(
+            ArquivoFilmes arquivoFilmes,
+            FilmeUsuarioRepository filmeUsuarioRepository,
+            ListaFilmeRepository listaFilmeRepository,
+            ReviewRepository reviewRepository,
+            @Value("${exportacao.pagina:500}") int tamanhoPagina) {
+        this.arquivoFilmes = arquivoFilmes;
+        this.filmeUsuarioRepository = filmeUsuarioRepository;
+        this.listaFilmeRepository = listaFilmeRepository;
+        this.reviewRepository = reviewRepository;
+        this.tamanhoPagina = Math.max(1, tamanhoPagina);
+    }
+
+    /**
+     * @return quantidade de linhas escritas
+     */
+    public long exportar(Long usuarioId, ConteudoTransferencia conteudo, FormatoArquivo formato, OutputStream saida) throws IOException {
+        long escritas = 0;
+        try (ArquivoFilmes.Escritor escritor = arquivoFilmes.escritor(formato, saida)) {
+            long after = 0;
+            while (true) {
+                Pagina pagina = pagina(usuarioId, conteudo, after);
+                for (LinhaFilme linha : pagina.linhas) {
+                    escritor.escrever(linha);
+                }
+                escritas += pagina.linhas.size();
+                if (pagina.linhas.size() < tamanhoPagina) {
+                    break;
+                }
+                escritor.flush();
+                after = pagina.ultimoId;
+            }
+        }
+        return escritas;
+    }
+
+    private Pagina pagina(Long usuarioId, ConteudoTransferencia conteudo, long after) {
+        Limit limite = Limit.of(tamanhoPagina);
+        return switch (conteudo) {
+            case HISTORICO -> {
+                List<FilmeUsuario> filmes = filmeUsuarioRepository.findByUsuarioIdAndIdGreaterThanOrderByIdAsc(usuarioId, after, limite);
+                yield new Pagina(filmes.stream().map(ExportacaoService::deHistorico).toList(),
+                        filmes.isEmpty() ? after : filmes.get(filmes.size() - 1).getId());
+            }
+            case LISTAS -> {
+                List<ListaFilme> filmes = listaFilmeRepository.findDoUsuarioAposId(usuarioId, after, limite);
+                yield new Pagina(filmes.stream().map(ExportacaoService::deLista).toList(),
+                        filmes.isEmpty() ? after : filmes.get(filmes.size() - 1).getId());
+            }
+            case REVIEWS -> {
+                List<Review> reviews = reviewRepository.findByUsuarioIdAndIdGreaterThanOrderByIdAsc(usuarioId, after, limite);
+                yield new Pagina(reviews.stream().map(ExportacaoService::deReview).toList(),
+                        reviews.isEmpty() ? after : reviews.get(reviews.size() - 1).id);
+            }
+        };
+    }
+
+    private static LinhaFilme deHistorico(FilmeUsuario filme) {
+        LinhaFilme linha = new LinhaFilme();
+        linha.setTmdbId(filme.getTmdbId());
+        linha.setTitulo(filme.getTitulo());
+        linha.setAno(filme.getAnoLancamento());
+        linha.setNota(filme.getNotaUsuario());
+        linha.setStatus(filme.getStatus() != null ? filme.getStatus().name() : null);
+        linha.setData(data(filme.getDataAdicao()));
+        linha.setPosterPath(filme.getPosterPath());
+        return linha;
+    }
+
+    private static LinhaFilme deLista(ListaFilme filme) {
+        LinhaFilme linha = new LinhaFilme();
+        linha.setTmdbId(filme.getTmdbId());
+        linha.setTitulo(filme.getTitulo());
+        linha.setAno(filme.getAnoLancamento());
+        linha.setNota(filme.getNota());
+        linha.setLista(filme.getLista().getNome());
+        linha.setData(data(filme.getDataAdicao()));
+        linha.setPosterPath(filme.getPosterPath());
+        return linha;
+    }
+
+    private static LinhaFilme deReview(Review review) {
+        LinhaFilme linha = new LinhaFilme();
+        linha.setTmdbId(review.tmdbId);
+        linha.setTitulo(review.tituloFilme);
+        linha.setNota(review.nota);
+        linha.setReview(review.comentario);
+        linha.setData(data(review.dataCriacao));
+        return linha;
+    }
+
+    // Datas como no Letterboxd: AAAA-MM-DD
+    private static String data(LocalDateTime instante) {
+        return instante != null ? instante.toLocalDate().toString() : null;
+    }
+
+    private static class Pagina {
+        private final List<LinhaFilme> linhas;
+        private final long ultimoId;
+
+        Pagina(List<LinhaFilme> linhas, long ultimoId) {
+            this.linhas = linhas;
+            this.ultimoId = ultimoId;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.filmesapi.modules.importacao.service;
+
+import org.springframework.http.MediaType;
+
+public enum FormatoArquivo {
+    CSV(new MediaType("text", "csv"), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType mediaType;
+    private final String extensao;
+
+    FormatoArquivo(MediaType mediaType, String extensao) {
+        this.mediaType = mediaType;
+        this.extensao = extensao;
+    }
+
+    public static FormatoArquivo de(String valor) {
+        for (FormatoArquivo formato : values()) {
+            if (formato.name().equalsIgnoreCase(valor)) {
+                return formato;
+            }
+        }
+        throw new IllegalArgumentException("Formato inválido: " + valor);
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+}
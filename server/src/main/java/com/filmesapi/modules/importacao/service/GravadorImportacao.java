@@ -0,0 +1,205 @@
+package com.filmesapi.modules.importacao.service;
+
+import com.filmesapi.modules.auth.model.Usuario;
+import com.filmesapi.modules.auth.repository.UsuarioRepository;
+import com.filmesapi.modules.dashboard.model.Lista;
+import com.filmesapi.modules.dashboard.model.ListaFilme;
+import com.filmesapi.modules.dashboard.repository.ListaFilmeRepository;
+import com.filmesapi.modules.dashboard.repository.ListaRepository;
+import com.filmesapi.modules.filmes.busca.IndiceBuscaFilmes;
+import com.filmesapi.modules.filmes.model.FilmeUsuario;
+import com.filmesapi.modules.filmes.model.StatusFilme;
+import com.filmesapi.modules.filmes.repository.FilmeUsuarioRepository;
+import com.filmesapi.modules.reviews.model.Review;
+import com.filmesapi.modules.reviews.repository.ReviewRepository;
+import com.filmesapi.modules.reviews.service.ReviewStatsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Grava um lote de linhas já resolvidas em uma única transação. Existentes
+ * são buscados com uma consulta por lote; filmes repetidos no lote contam uma
+ * vez só.
+ */
+@Component
+class GravadorImportacao {
+
+    private final UsuarioRepository usuarioRepository;
+    private final FilmeUsuarioRepository filmeUsuarioRepository;
+    private final ListaRepository listaRepository;
+    private final ListaFilmeRepository listaFilmeRepository;
+    private final ReviewRepository reviewRepository;
+    private final IndiceBuscaFilmes indiceBusca;
+    private final ReviewStatsService reviewStatsService;
+
+    GravadorImportacao(UsuarioRepository usuarioRepository, FilmeUsuarioRepository filmeUsuarioRepository,
+                              ListaRepository listaRepository, ListaFilmeRepository listaFilmeRepository,
+                              ReviewRepository reviewRepository, IndiceBuscaFilmes indiceBusca,
+                              ReviewStatsService reviewStatsService) {
+        this.usuarioRepository = usuarioRepository;
+        this.filmeUsuarioRepository = filmeUsuarioRepository;
+        this.listaRepository = listaRepository;
+        this.listaFilmeRepository = listaFilmeRepository;
+        this.reviewRepository = reviewRepository;
+        this.indiceBusca = indiceBusca;
+        this.reviewStatsService = reviewStatsService;
+    }
+
+    /**
+     * @return quantidade de linhas gravadas (inseridas ou atualizadas)
+     */
+    @Transactional
+    public int gravar(ConteudoTransferencia conteudo, Long usuarioId, String listaPadrao, List<LinhaFilme> linhas) {
+        return switch (conteudo) {
+            case HISTORICO -> gravarHistorico(usuarioId, linhas);
+            case LISTAS -> gravarListas(usuarioId, listaPadrao, linhas);
+            case REVIEWS -> gravarReviews(usuarioId, linhas);
+        };
+    }
+
+    private int gravarHistorico(Long usuarioId, List<LinhaFilme> linhas) {
+        Map<Long, LinhaFilme> porFilme = porTmdbId(linhas);
+        Map<Long, FilmeUsuario> existentes = filmeUsuarioRepository
+                .findByUsuarioIdAndTmdbIdIn(usuarioId, porFilme.keySet()).stream()
+                .collect(Collectors.toMap(FilmeUsuario::getTmdbId, Function.identity(), (a, b) -> a));
+        Usuario usuario = usuarioRepository.getReferenceById(usuarioId);
+
+        List<FilmeUsuario> gravar = new ArrayList<>(porFilme.size());
+        for (LinhaFilme linha : porFilme.values()) {
+            FilmeUsuario filme = existentes.get(linha.getTmdbId());
+            if (filme == null) {
+                filme = new FilmeUsuario();
+                filme.setUsuario(usuario);
+                filme.setTmdbId(linha.getTmdbId());
+                filme.setTitulo(linha.getTitulo());
+                filme.setPosterPath(linha.getPosterPath());
+                filme.setAnoLancamento(linha.getAno());
+            }
+            filme.setStatus(status(linha.getStatus(), filme.getStatus()));
+            if (linha.getNota() != null) {
+                filme.setNotaUsuario(linha.getNota());
+            }
+            gravar.add(filme);
+        }
+        filmeUsuarioRepository.saveAll(gravar);
+        return gravar.size();
+    }
+
+    private int gravarListas(Long usuarioId, String listaPadrao, List<LinhaFilme> linhas) {
+        // Linhas sem lista vão para a lista informada na importação
+        Map<String, List<LinhaFilme>> porLista = linhas.stream()
+                .filter(linha -> linha.getLista() != null || listaPadrao != null)
+                .collect(Collectors.groupingBy(linha -> linha.getLista() != null ? linha.getLista() : listaPadrao,
+                        LinkedHashMap::new, Collectors.toList()));
+
+        int gravadas = 0;
+        for (Map.Entry<String, List<LinhaFilme>> entrada : porLista.entrySet()) {
+            Lista lista = listaRepository.findByNomeAndUsuarioId(entrada.getKey(), usuarioId)
+                    .orElseGet(() -> novaLista(entrada.getKey(), usuarioId));
+
+            Map<Long, LinhaFilme> porFilme = porTmdbId(entrada.getValue());
+            Set<Long> presentes = listaFilmeRepository.findTmdbIdsExistentes(lista.getId(), porFilme.keySet());
+
+            List<ListaFilme> novos = new ArrayList<>();
+            for (LinhaFilme linha : porFilme.values()) {
+                if (presentes.contains(linha.getTmdbId())) {
+                    continue;
+                }
+                ListaFilme listaFilme = new ListaFilme();
+                listaFilme.setLista(lista);
+                listaFilme.setTmdbId(linha.getTmdbId());
+                listaFilme.setTitulo(linha.getTitulo());
+                listaFilme.setPosterPath(linha.getPosterPath());
+                listaFilme.setAnoLancamento(linha.getAno());
+                listaFilme.setNota(linha.getNota());
+                novos.add(listaFilme);
+            }
+            if (novos.isEmpty()) {
+                continue;
+            }
+
+            listaFilmeRepository.saveAll(novos);
+            lista.setDataAtualizacao(LocalDateTime.now());
+            for (ListaFilme novo : novos) {
+                indiceBusca.indexarDaLista(novo.getTmdbId(), novo.getTitulo(), novo.getPosterPath(),
+                        novo.getAnoLancamento(), novo.getNota(), novo.getGeneros());
+            }
+            gravadas += novos.size();
+        }
+        return gravadas;
+    }
+
+    private int gravarReviews(Long usuarioId, List<LinhaFilme> linhas) {
+        // Review exige nota
+        Map<Long, LinhaFilme> porFilme = porTmdbId(linhas.stream().filter(linha -> linha.getNota() != null).toList());
+        Map<Long, Review> existentes = reviewRepository
+                .findByUsuarioIdAndTmdbIdIn(usuarioId, porFilme.keySet()).stream()
+                .collect(Collectors.toMap(review -> review.tmdbId, Function.identity(), (a, b) -> a));
+        Usuario usuario = usuarioRepository.getReferenceById(usuarioId);
+
+        List<Review> gravar = new ArrayList<>(porFilme.size());
+        Map<Long, Double> notasAnteriores = new HashMap<>();
+        for (LinhaFilme linha : porFilme.values()) {
+            Review review = existentes.get(linha.getTmdbId());
+            if (review != null) {
+                notasAnteriores.put(review.tmdbId, review.nota);
+            } else {
+                review = new Review();
+                review.usuario = usuario;
+                review.tmdbId = linha.getTmdbId();
+            }
+            review.tituloFilme = linha.getTitulo();
+            review.nota = linha.getNota();
+            if (linha.getReview() != null) {
+                review.comentario = linha.getReview();
+            }
+            gravar.add(review);
+        }
+        reviewRepository.saveAll(gravar);
+        // Em ordem de tmdbId para que importações simultâneas travem as
+        // estatísticas sempre na mesma ordem
+        gravar.stream()
+                .sorted(Comparator.comparing((Review review) -> review.tmdbId))
+                .forEach(review -> reviewStatsService.apply(
+                        review.tmdbId, notasAnteriores.get(review.tmdbId), review.nota));
+        return gravar.size();
+    }
+
+    private Lista novaLista(String nome, Long usuarioId) {
+        Lista lista = new Lista();
+        lista.setNome(nome);
+        lista.setUsuarioId(usuarioId);
+        return listaRepository.save(lista);
+    }
+
+    private static Map<Long, LinhaFilme> porTmdbId(List<LinhaFilme> linhas) {
+        Map<Long, LinhaFilme> porFilme = new LinkedHashMap<>();
+        for (LinhaFilme linha : linhas) {
+            porFilme.putIfAbsent(linha.getTmdbId(), linha);
+        }
+        return porFilme;
+    }
+
+    private static StatusFilme status(String valor, StatusFilme atual) {
+        if (valor != null) {
+            for (StatusFilme status : StatusFilme.values()) {
+                if (status.name().equalsIgnoreCase(valor) || status.getDescricao().equalsIgnoreCase(valor)) {
+                    return status;
+                }
+            }
+        }
+        // Histórico importado sem status é de filmes já assistidos
+        return atual != null ? atual : StatusFilme.COMPLETO;
+    }
+}
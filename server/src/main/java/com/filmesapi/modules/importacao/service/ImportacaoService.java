@@ -0,0 +1,221 @@
+package com.filmesapi.modules.importacao.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.filmesapi.modules.auth.repository.UsuarioRepository;
+import com.filmesapi.modules.importacao.dto.JobImportacaoDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Importação de arquivos CSV/NDJSON em segundo plano. O corpo da requisição é
+ * copiado para um arquivo temporário e lido linha a linha; a cada
+ * {@code importacao.lote} linhas os títulos são resolvidos no TMDB (com
+ * concorrência limitada) e o lote é gravado em uma transação. A memória usada
+ * não depende do tamanho do arquivo.
+ */
+@Service
+public class ImportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoService.class);
+
+    private final UsuarioRepository usuarioRepository;
+    private final ArquivoFilmes arquivoFilmes;
+    private final ResolvedorTmdb resolvedor;
+    private final GravadorImportacao gravador;
+    private final Cache<String, JobImportacao> jobs;
+    private final Scheduler executor;
+    private final int tamanhoLote;
+    private final int concorrencia;
+    private final long maxBytes;
+
+    public ImportacaoService(
+            UsuarioRepository usuarioRepository,
+            ArquivoFilmes arquivoFilmes,
+            ResolvedorTmdb resolvedor,
+            GravadorImportacao gravador,
+            @Value("${importacao.lote:200}") int tamanhoLote,
+            @Value("${importacao.resolucao.concorrencia:4}") int concorrencia,
+            @Value("${importacao.max-size:20MB}") DataSize maxSize,
+            @Value("${importacao.max-jobs:2}") int maxJobs,
+            @Value("${importacao.jobs.retencao:1h}") Duration retencao) {
+        this.usuarioRepository = usuarioRepository;
+        this.arquivoFilmes = arquivoFilmes;
+        this.resolvedor = resolvedor;
+        this.gravador = gravador;
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+        this.concorrencia = Math.max(1, concorrencia);
+        this.maxBytes = maxSize.toBytes();
+        this.jobs = Caffeine.newBuilder().expireAfter(new RetencaoAposConclusao(retencao)).build();
+        // Poucas importações ao mesmo tempo; as demais aguardam na fila
+        this.executor = Schedulers.newBoundedElastic(Math.max(1, maxJobs), 100, "importacao");
+    }
+
+    /**
+     * Guarda o arquivo e agenda a importação. Devolve o job já registrado,
+     * ainda pendente.
+     */
+    public JobImportacaoDTO iniciar(Long usuarioId, ConteudoTransferencia conteudo, FormatoArquivo formato,
+                                    String listaPadrao, InputStream entrada) throws IOException {
+        if (!usuarioRepository.existsById(usuarioId)) {
+            throw new IllegalArgumentException("Usuário não encontrado");
+        }
+
+        Path arquivo = Files.createTempFile("cinelist-importacao-", "." + formato.getExtensao());
+        JobImportacao job;
+        try {
+            long bytes = copiarLimitado(entrada, arquivo);
+            job = new JobImportacao(usuarioId, conteudo, formato, listaPadrao, arquivo, bytes);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(arquivo);
+            throw e;
+        }
+
+        jobs.put(job.getId(), job);
+        try {
+            executor.schedule(() -> processar(job));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getId());
+            Files.deleteIfExists(arquivo);
+            throw new IllegalStateException("Muitas importações em andamento, tente novamente mais tarde");
+        }
+        log.info("Importação {} agendada: usuário {}, {} em {}, {} bytes",
+                job.getId(), usuarioId, conteudo.getNome(), formato.getExtensao(), job.toDTO().getBytes());
+        return job.toDTO();
+    }
+
+    public Optional<JobImportacaoDTO> progresso(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(JobImportacao::toDTO);
+    }
+
+    private void processar(JobImportacao job) {
+        long inicio = System.nanoTime();
+        job.iniciar();
+        try (InputStream entrada = Files.newInputStream(job.getArquivo());
+             MappingIterator<Map<String, Object>> linhas = arquivoFilmes.ler(job.getFormato(), entrada)) {
+            List<LinhaFilme> lote = new ArrayList<>(tamanhoLote);
+            while (linhas.hasNextValue()) {
+                lote.add(LinhaFilme.deMapa(linhas.nextValue()));
+                if (lote.size() == tamanhoLote) {
+                    processarLote(job, lote);
+                    lote = new ArrayList<>(tamanhoLote);
+                }
+            }
+            if (!lote.isEmpty()) {
+                processarLote(job, lote);
+            }
+            job.concluir();
+            log.info("Importação {} concluída em {} ms: {}", job.getId(),
+                    Duration.ofNanos(System.nanoTime() - inicio).toMillis(), job.toDTO());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Importação {} falhou: {}", job.getId(), e.toString());
+            job.falhar(e.getMessage() != null ? e.getMessage() : e.toString());
+        } finally {
+            apagar(job.getArquivo());
+            // Já concluído, o job passa a expirar: a retenção conta a partir do fim, para o cliente ler o resultado
+            jobs.put(job.getId(), job);
+        }
+    }
+
+    private void processarLote(JobImportacao job, List<LinhaFilme> lote) {
+        List<LinhaFilme> resolvidas = Flux.fromIterable(lote)
+                .flatMapSequential(resolvedor::resolver, concorrencia)
+                .collectList()
+                .block();
+        if (resolvidas == null) {
+            resolvidas = List.of();
+        }
+
+        int gravadas = 0;
+        if (!resolvidas.isEmpty()) {
+            try {
+                gravadas = gravador.gravar(job.getConteudo(), job.getUsuarioId(), job.getListaPadrao(), resolvidas);
+            } catch (RuntimeException e) {
+                // O lote é desfeito inteiro; os seguintes continuam
+                log.warn("Importação {}: lote de {} linhas falhou: {}", job.getId(), lote.size(), e.toString());
+                job.registrarErro("Lote a partir da linha " + (job.toDTO().getLinhasLidas() + 1) + ": " + e.getMessage());
+            }
+        }
+        job.registrarLote(lote.size(), resolvidas.size(), gravadas);
+    }
+
+    private long copiarLimitado(InputStream entrada, Path destino) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        try (OutputStream saida = Files.newOutputStream(destino)) {
+            int lidos;
+            while ((lidos = entrada.read(buffer)) != -1) {
+                total += lidos;
+                if (total > maxBytes) {
+                    throw new IllegalArgumentException("Arquivo maior que o limite de " + DataSize.ofBytes(maxBytes).toMegabytes() + " MB");
+                }
+                saida.write(buffer, 0, lidos);
+            }
+        }
+        return total;
+    }
+
+    private static void apagar(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.dispose();
+    }
+
+    // Job em andamento nunca expira: o prazo de retenção só começa quando ele termina
+    // e é gravado de novo no cache
+    private static class RetencaoAposConclusao implements Expiry<String, JobImportacao> {
+
+        private final long retencaoNanos;
+
+        RetencaoAposConclusao(Duration retencao) {
+            this.retencaoNanos = retencao.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, JobImportacao value, long currentTime) {
+            return prazo(value);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JobImportacao value, long currentTime, long currentDuration) {
+            return prazo(value);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JobImportacao value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private long prazo(JobImportacao value) {
+            return value.isEmAndamento() ? Long.MAX_VALUE : retencaoNanos;
+        }
+    }
+}
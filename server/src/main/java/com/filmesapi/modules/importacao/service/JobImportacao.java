@@ -0,0 +1,108 @@
+package com.filmesapi.modules.importacao.service;
+
+import com.filmesapi.modules.importacao.dto.JobImportacaoDTO;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado de uma importação em andamento. Atualizado pela thread da
+ * importação e lido pelas consultas de progresso.
+ */
+class JobImportacao {
+
+    private static final int MAX_ERROS = 20;
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long usuarioId;
+    private final ConteudoTransferencia conteudo;
+    private final FormatoArquivo formato;
+    private final String listaPadrao;
+    private final Path arquivo;
+    private final long bytes;
+    private final LocalDateTime criadoEm = LocalDateTime.now();
+
+    private final AtomicLong linhasLidas = new AtomicLong();
+    private final AtomicLong importadas = new AtomicLong();
+    private final AtomicLong ignoradas = new AtomicLong();
+    private final AtomicLong naoResolvidas = new AtomicLong();
+    private final List<String> erros = new ArrayList<>();
+    private volatile String status = "PENDENTE";
+    private volatile LocalDateTime concluidoEm;
+
+    JobImportacao(Long usuarioId, ConteudoTransferencia conteudo, FormatoArquivo formato, String listaPadrao,
+                  Path arquivo, long bytes) {
+        this.usuarioId = usuarioId;
+        this.conteudo = conteudo;
+        this.formato = formato;
+        this.listaPadrao = listaPadrao;
+        this.arquivo = arquivo;
+        this.bytes = bytes;
+    }
+
+    void iniciar() {
+        status = "PROCESSANDO";
+    }
+
+    void registrarLote(int lidas, int resolvidas, int gravadas) {
+        linhasLidas.addAndGet(lidas);
+        naoResolvidas.addAndGet(lidas - resolvidas);
+        importadas.addAndGet(gravadas);
+        ignoradas.addAndGet(resolvidas - gravadas);
+    }
+
+    void concluir() {
+        concluidoEm = LocalDateTime.now();
+        status = "CONCLUIDO";
+    }
+
+    void falhar(String erro) {
+        registrarErro(erro);
+        concluidoEm = LocalDateTime.now();
+        status = "FALHOU";
+    }
+
+    synchronized void registrarErro(String erro) {
+        if (erros.size() < MAX_ERROS) {
+            erros.add(erro);
+        }
+    }
+
+    boolean isEmAndamento() {
+        return concluidoEm == null;
+    }
+
+    synchronized JobImportacaoDTO toDTO() {
+        return new JobImportacaoDTO(id, usuarioId, conteudo.getNome(), formato.getExtensao(), status,
+                linhasLidas.get(), importadas.get(), ignoradas.get(), naoResolvidas.get(), bytes,
+                List.copyOf(erros), criadoEm, concluidoEm);
+    }
+
+    String getId() {
+        return id;
+    }
+
+    Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    ConteudoTransferencia getConteudo() {
+        return conteudo;
+    }
+
+    FormatoArquivo getFormato() {
+        return formato;
+    }
+
+    String getListaPadrao() {
+        return listaPadrao;
+    }
+
+    Path getArquivo() {
+        return arquivo;
+    }
+}
@@ -0,0 +1,111 @@
+package com.filmesapi.modules.importacao.service;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Uma linha de arquivo de importação/exportação. As colunas seguem o padrão
+ * dos CSVs do Letterboxd (Name, Year, Rating, Review, Date), com tmdbID,
+ * Status, List e Poster a mais; nomes em português também são aceitos.
+ */
+@Data
+@NoArgsConstructor
+class LinhaFilme {
+
+    static final String[] COLUNAS = {"tmdbID", "Name", "Year", "Rating", "Review", "Status", "List", "Date", "Poster"};
+
+    private Long tmdbId;
+    private String titulo;
+    private String ano;
+    private Double nota;
+    private String review;
+    private String status;
+    private String lista;
+    private String data;
+    private String posterPath;
+
+    static LinhaFilme deMapa(Map<String, ?> campos) {
+        LinhaFilme linha = new LinhaFilme();
+        for (Map.Entry<String, ?> campo : campos.entrySet()) {
+            String valor = texto(campo.getValue());
+            if (valor == null) {
+                continue;
+            }
+            switch (normalizar(campo.getKey())) {
+                case "tmdbid", "id" -> linha.tmdbId = numeroInteiro(valor);
+                case "name", "title", "titulo" -> linha.titulo = valor;
+                case "year", "ano" -> linha.ano = valor;
+                case "rating", "nota" -> linha.nota = numero(valor);
+                case "review", "comentario" -> linha.review = valor;
+                case "status" -> linha.status = valor;
+                case "list", "lista" -> linha.lista = valor;
+                case "date", "watcheddate", "data" -> linha.data = valor;
+                case "poster", "posterpath" -> linha.posterPath = valor;
+                default -> {
+                    // Colunas desconhecidas (Letterboxd URI, Tags, ...) são ignoradas
+                }
+            }
+        }
+        return linha;
+    }
+
+    // Mesma ordem de COLUNAS, vazios como "" para não deslocar as colunas; usado pelo CSV
+    Object[] valores() {
+        Object[] valores = campos();
+        for (int i = 0; i < valores.length; i++) {
+            if (valores[i] == null) {
+                valores[i] = "";
+            }
+        }
+        return valores;
+    }
+
+    // Sem os campos vazios; usado pelo NDJSON
+    Map<String, Object> comoMapa() {
+        Object[] valores = campos();
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        for (int i = 0; i < COLUNAS.length; i++) {
+            if (valores[i] != null) {
+                mapa.put(COLUNAS[i], valores[i]);
+            }
+        }
+        return mapa;
+    }
+
+    private Object[] campos() {
+        return new Object[]{tmdbId, titulo, ano, nota, review, status, lista, data, posterPath};
+    }
+
+    private static String normalizar(String coluna) {
+        // Remove BOM, espaços e separadores: "Watched Date", "tmdb_id", "﻿Date"
+        return coluna.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String texto(Object valor) {
+        if (valor == null) {
+            return null;
+        }
+        String texto = String.valueOf(valor).trim();
+        return texto.isEmpty() ? null : texto;
+    }
+
+    private static Long numeroInteiro(String valor) {
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Double numero(String valor) {
+        try {
+            return Double.valueOf(valor.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
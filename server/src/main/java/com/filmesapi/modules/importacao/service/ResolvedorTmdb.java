@@ -0,0 +1,142 @@
+package com.filmesapi.modules.importacao.service;
+
+import com.filmesapi.modules.filmes.dto.TMDBMovieDetailsDTO;
+import com.filmesapi.modules.filmes.dto.TMDBMovieSummaryDTO;
+import com.filmesapi.modules.filmes.service.TMDBService;
+import com.filmesapi.modules.filmes.service.TMDBSobrecargaException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Completa linhas importadas com o id do TMDB (busca por título e ano) ou com
+ * título e pôster (detalhes pelo id). As respostas passam pelo cache do
+ * TMDBService e, além disso, cada título já resolvido fica guardado aqui, já
+ * que históricos costumam repetir filmes entre arquivos e usuários.
+ */
+@Component
+class ResolvedorTmdb implements MeterBinder {
+
+    private final TMDBService tmdbService;
+    // Optional vazio também fica em cache: título sem correspondência não é buscado de novo
+    private final Cache<String, Optional<FilmeResolvido>> resolvidos;
+
+    ResolvedorTmdb(
+            TMDBService tmdbService,
+            @Value("${importacao.resolucao.cache.max-entries:10000}") long maxEntries,
+            @Value("${importacao.resolucao.cache.ttl:1d}") Duration ttl) {
+        this.tmdbService = tmdbService;
+        this.resolvidos = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, resolvidos, "importacao.resolucao");
+    }
+
+    /**
+     * A própria linha, completada; vazio quando o filme não foi encontrado ou
+     * o TMDB não respondeu.
+     */
+    Mono<LinhaFilme> resolver(LinhaFilme linha) {
+        if (linha.getTmdbId() != null && linha.getTitulo() != null) {
+            return Mono.just(linha);
+        }
+        if (linha.getTmdbId() == null && linha.getTitulo() == null) {
+            return Mono.empty();
+        }
+
+        String chave = linha.getTmdbId() != null
+                ? "id:" + linha.getTmdbId()
+                : "busca:" + linha.getTitulo().toLowerCase(Locale.ROOT) + "|" + (linha.getAno() != null ? linha.getAno() : "");
+        Optional<FilmeResolvido> emCache = resolvidos.getIfPresent(chave);
+        Mono<Optional<FilmeResolvido>> resolvido = emCache != null
+                ? Mono.just(emCache)
+                : consultar(linha)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        // Sobrecarga do limitador é passageira: espera e tenta de novo
+                        .retryWhen(Retry.backoff(3, Duration.ofSeconds(1))
+                                .filter(TMDBSobrecargaException.class::isInstance))
+                        .doOnNext(resultado -> resolvidos.put(chave, resultado));
+
+        return resolvido
+                .flatMap(resultado -> Mono.justOrEmpty(resultado.map(filme -> filme.aplicar(linha))))
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    private Mono<FilmeResolvido> consultar(LinhaFilme linha) {
+        if (linha.getTmdbId() != null) {
+            return tmdbService.getMovieDetailsForImport(linha.getTmdbId())
+                    .map(ResolvedorTmdb::deDetalhes);
+        }
+        return tmdbService.searchMoviesForImport(linha.getTitulo(), linha.getAno())
+                .flatMap(pagina -> Mono.justOrEmpty(melhorResultado(pagina.getResults(), linha.getTitulo())));
+    }
+
+    // Título idêntico primeiro; senão o primeiro resultado, já filtrado por ano no TMDB
+    private static FilmeResolvido melhorResultado(List<TMDBMovieSummaryDTO> resultados, String titulo) {
+        if (resultados == null || resultados.isEmpty()) {
+            return null;
+        }
+        TMDBMovieSummaryDTO escolhido = resultados.stream()
+                .filter(filme -> titulo.equalsIgnoreCase(filme.getTitle()) || titulo.equalsIgnoreCase(filme.getOriginalTitle()))
+                .findFirst()
+                .orElse(resultados.get(0));
+        return new FilmeResolvido(escolhido.getId(), escolhido.getTitle(), ano(escolhido.getReleaseDate()), escolhido.getPosterPath());
+    }
+
+    private static FilmeResolvido deDetalhes(TMDBMovieDetailsDTO detalhes) {
+        return new FilmeResolvido(detalhes.getId(), detalhes.getTitle(), ano(detalhes.getReleaseDate()), detalhes.getPosterPath());
+    }
+
+    private static String ano(String dataLancamento) {
+        return dataLancamento != null && dataLancamento.length() >= 4 ? dataLancamento.substring(0, 4) : null;
+    }
+
+    private static class FilmeResolvido {
+        private final Long tmdbId;
+        private final String titulo;
+        private final String ano;
+        private final String posterPath;
+
+        FilmeResolvido(Long tmdbId, String titulo, String ano, String posterPath) {
+            this.tmdbId = tmdbId;
+            this.titulo = titulo;
+            this.ano = ano;
+            this.posterPath = posterPath;
+        }
+
+        // Só preenche o que o arquivo não trouxe
+        LinhaFilme aplicar(LinhaFilme linha) {
+            if (linha.getTmdbId() == null) {
+                linha.setTmdbId(tmdbId);
+            }
+            if (linha.getTitulo() == null) {
+                linha.setTitulo(titulo);
+            }
+            if (linha.getAno() == null) {
+                linha.setAno(ano);
+            }
+            if (linha.getPosterPath() == null) {
+                linha.setPosterPath(posterPath);
+            }
+            return linha;
+        }
+    }
+}
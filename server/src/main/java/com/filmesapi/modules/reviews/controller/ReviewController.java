@@ -1,11 +1,15 @@
 package com.filmesapi.modules.reviews.controller;
 
+import com.filmesapi.modules.reviews.dto.PaginaReviewsResponse;
 import com.filmesapi.modules.reviews.dto.ReviewRequest;
 import com.filmesapi.modules.reviews.dto.ReviewResponse;
+import com.filmesapi.modules.reviews.dto.ReviewStatsResponse;
 import com.filmesapi.modules.reviews.service.ReviewService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,6 +18,8 @@ import java.util.List;
 @CrossOrigin(origins = "${app.cors.allowed-origin}")
 public class ReviewController {
 
+    private static final int MAX_FILMES_STATS = 100;
+
     private final ReviewService reviewService;
 
     public ReviewController(ReviewService reviewService) {
@@ -33,15 +39,66 @@ public class ReviewController {
     }
 
     @GetMapping("/filme/{tmdbId}")
-    public ResponseEntity<List<ReviewResponse>> getReviewsByMovie(@PathVariable Long tmdbId) {
+    public ResponseEntity<List<ReviewResponse>> getReviewsByMovie(@PathVariable Long tmdbId, WebRequest webRequest) {
+        String etag = reviewService.getMovieReviewsEtag(tmdbId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         List<ReviewResponse> reviews = reviewService.getReviewsByMovie(tmdbId);
-        return ResponseEntity.ok(reviews);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(reviews);
+    }
+
+    @GetMapping("/filme/{tmdbId}/pagina")
+    public ResponseEntity<PaginaReviewsResponse> getMovieReviewsPage(
+            @PathVariable Long tmdbId,
+            @RequestParam(defaultValue = "recentes") String ordem,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(reviewService.getMovieReviewsPage(tmdbId, ordem, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/filme/{tmdbId}/stats")
+    public ResponseEntity<ReviewStatsResponse> getMovieStats(@PathVariable Long tmdbId) {
+        return ResponseEntity.ok(reviewService.getMovieStats(tmdbId));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<ReviewStatsResponse>> getMoviesStats(@RequestParam List<Long> tmdbIds) {
+        if (tmdbIds.isEmpty() || tmdbIds.size() > MAX_FILMES_STATS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(reviewService.getMoviesStats(tmdbIds));
     }
 
     @GetMapping("/usuario/{usuarioId}")
-    public ResponseEntity<List<ReviewResponse>> getReviewsByUser(@PathVariable Long usuarioId) {
+    public ResponseEntity<List<ReviewResponse>> getReviewsByUser(@PathVariable Long usuarioId, WebRequest webRequest) {
+        String etag = reviewService.getUserReviewsEtag(usuarioId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         List<ReviewResponse> reviews = reviewService.getReviewsByUser(usuarioId);
-        return ResponseEntity.ok(reviews);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(reviews);
+    }
+
+    @GetMapping("/usuario/{usuarioId}/pagina")
+    public ResponseEntity<PaginaReviewsResponse> getUserReviewsPage(
+            @PathVariable Long usuarioId,
+            @RequestParam(defaultValue = "recentes") String ordem,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(reviewService.getUserReviewsPage(usuarioId, ordem, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @DeleteMapping("/{reviewId}/usuario/{usuarioId}")
@@ -0,0 +1,16 @@
+package com.filmesapi.modules.reviews.dto;
+
+import java.util.List;
+
+public class PaginaReviewsResponse {
+    public List<ReviewResponse> reviews;
+    // Valor para o parâmetro cursor da próxima página; nulo na última
+    public String proximoCursor;
+
+    public PaginaReviewsResponse() {}
+
+    public PaginaReviewsResponse(List<ReviewResponse> reviews, String proximoCursor) {
+        this.reviews = reviews;
+        this.proximoCursor = proximoCursor;
+    }
+}
@@ -0,0 +1,18 @@
+package com.filmesapi.modules.reviews.dto;
+
+public class ReviewStatsResponse {
+    public Long tmdbId;
+    public long total;
+    public Double media;
+    // Reviews por meia estrela, de 0.5 a 5.0
+    public int[] histograma;
+
+    public ReviewStatsResponse() {}
+
+    public ReviewStatsResponse(Long tmdbId, long total, Double media, int[] histograma) {
+        this.tmdbId = tmdbId;
+        this.total = total;
+        this.media = media;
+        this.histograma = histograma;
+    }
+}
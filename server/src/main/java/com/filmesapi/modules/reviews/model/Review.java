@@ -5,7 +5,11 @@ import com.filmesapi.modules.auth.model.Usuario;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        // Páginas de reviews por filme e por usuário, das mais recentes para as mais antigas
+        @Index(name = "idx_reviews_tmdb_id_data", columnList = "tmdb_id, data_criacao, id"),
+        @Index(name = "idx_reviews_usuario_id_data", columnList = "usuario_id, data_criacao, id")
+})
 public class Review {
 
     @Id
@@ -34,6 +38,10 @@ public class Review {
     @Column(name = "data_atualizacao")
     public LocalDateTime dataAtualizacao;
 
+    // Incrementada a cada edição; base da ETag das consultas de reviews
+    @Version
+    public Long versao;
+
     public Review() {}
 
     @PrePersist
@@ -0,0 +1,36 @@
+package com.filmesapi.modules.reviews.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Estatísticas das reviews de um filme, mantidas a cada review criada,
+ * editada ou removida, para não recalcular a partir de todas as reviews.
+ */
+@Entity
+@Table(name = "review_stats")
+public class ReviewStats {
+
+    // Meias estrelas de 0.5 a 5.0
+    public static final int FAIXAS = 10;
+
+    @Id
+    @Column(name = "tmdb_id")
+    public Long tmdbId;
+
+    @Column(nullable = false)
+    public long total;
+
+    @Column(nullable = false)
+    public double soma;
+
+    // Quantidade de reviews por faixa: posição 0 = 0.5, posição 9 = 5.0
+    @Column(nullable = false)
+    public int[] histograma;
+
+    public ReviewStats() {}
+
+    public ReviewStats(Long tmdbId) {
+        this.tmdbId = tmdbId;
+        this.histograma = new int[FAIXAS];
+    }
+}
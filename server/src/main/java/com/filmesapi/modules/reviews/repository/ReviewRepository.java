@@ -1,14 +1,66 @@
 package com.filmesapi.modules.reviews.repository;
 
+import com.filmesapi.modules.reviews.dto.ReviewResponse;
 import com.filmesapi.modules.reviews.model.Review;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
-    List<Review> findByUsuarioId(Long usuarioId);
-    List<Review> findByTmdbId(Long tmdbId);
+    // Review e autor em uma consulta só, direto no DTO
+    String PROJECAO = "SELECT new com.filmesapi.modules.reviews.dto.ReviewResponse(" +
+            "r.id, u.id, COALESCE(u.nome, u.email), r.tmdbId, r.tituloFilme, r.nota, r.comentario, " +
+            "r.dataCriacao, r.dataAtualizacao, u.avatarUrl) FROM Review r JOIN r.usuario u ";
+
+    // Mesma regra do cliente: notas acima de 5 estão na escala de 10
+    String NOTA_NORMALIZADA = "(CASE WHEN r.nota > 5 THEN r.nota / 2 ELSE r.nota END)";
+
+    String APOS_DATA = "AND (r.dataCriacao < :data OR (r.dataCriacao = :data AND r.id < :id)) " +
+            "ORDER BY r.dataCriacao DESC, r.id DESC";
+
+    String APOS_NOTA = "AND (" + NOTA_NORMALIZADA + " < :nota OR (" + NOTA_NORMALIZADA + " = :nota AND r.id < :id)) " +
+            "ORDER BY " + NOTA_NORMALIZADA + " DESC, r.id DESC";
+
+    @Query(PROJECAO + "WHERE r.usuario.id = :usuarioId ORDER BY r.id")
+    List<ReviewResponse> findResponsesByUsuarioId(@Param("usuarioId") Long usuarioId);
+
+    @Query(PROJECAO + "WHERE r.tmdbId = :tmdbId ORDER BY r.id")
+    List<ReviewResponse> findResponsesByTmdbId(@Param("tmdbId") Long tmdbId);
+
+    @Query(PROJECAO + "WHERE r.tmdbId = :tmdbId " + APOS_DATA)
+    List<ReviewResponse> findPageByTmdbIdAfterDate(@Param("tmdbId") Long tmdbId, @Param("data") LocalDateTime data,
+                                                   @Param("id") Long id, Limit limit);
+
+    @Query(PROJECAO + "WHERE r.tmdbId = :tmdbId " + APOS_NOTA)
+    List<ReviewResponse> findPageByTmdbIdAfterRating(@Param("tmdbId") Long tmdbId, @Param("nota") Double nota,
+                                                     @Param("id") Long id, Limit limit);
+
+    @Query(PROJECAO + "WHERE r.usuario.id = :usuarioId " + APOS_DATA)
+    List<ReviewResponse> findPageByUsuarioIdAfterDate(@Param("usuarioId") Long usuarioId, @Param("data") LocalDateTime data,
+                                                      @Param("id") Long id, Limit limit);
+
+    @Query(PROJECAO + "WHERE r.usuario.id = :usuarioId " + APOS_NOTA)
+    List<ReviewResponse> findPageByUsuarioIdAfterRating(@Param("usuarioId") Long usuarioId, @Param("nota") Double nota,
+                                                        @Param("id") Long id, Limit limit);
+
     Optional<Review> findByUsuarioIdAndTmdbId(Long usuarioId, Long tmdbId);
+    List<Review> findByUsuarioIdAndTmdbIdIn(Long usuarioId, Collection<Long> tmdbIds);
+    List<Review> findByUsuarioIdAndIdGreaterThanOrderByIdAsc(Long usuarioId, Long id, Limit limit);
+    List<Review> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Quantidade, soma dos ids e soma das versões das reviews consultadas
+    @Query("SELECT CONCAT(CAST(COUNT(r) AS String), '-', CAST(COALESCE(SUM(r.id), 0) AS String), '-', CAST(COALESCE(SUM(r.versao), 0) AS String)) " +
+           "FROM Review r WHERE r.tmdbId = :tmdbId")
+    String versaoDoFilme(@Param("tmdbId") Long tmdbId);
+
+    @Query("SELECT CONCAT(CAST(COUNT(r) AS String), '-', CAST(COALESCE(SUM(r.id), 0) AS String), '-', CAST(COALESCE(SUM(r.versao), 0) AS String)) " +
+           "FROM Review r WHERE r.usuario.id = :usuarioId")
+    String versaoDoUsuario(@Param("usuarioId") Long usuarioId);
 }
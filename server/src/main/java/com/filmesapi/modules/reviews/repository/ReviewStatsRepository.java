@@ -0,0 +1,22 @@
+package com.filmesapi.modules.reviews.repository;
+
+import com.filmesapi.modules.reviews.model.ReviewStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReviewStatsRepository extends JpaRepository<ReviewStats, Long> {
+    List<ReviewStats> findByTmdbIdIn(Collection<Long> tmdbIds);
+
+    // Reviews simultâneas do mesmo filme aplicam seus deltas uma de cada vez
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ReviewStats s WHERE s.tmdbId = :tmdbId")
+    Optional<ReviewStats> findForUpdate(@Param("tmdbId") Long tmdbId);
+}
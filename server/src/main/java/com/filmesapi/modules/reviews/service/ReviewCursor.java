@@ -0,0 +1,69 @@
+package com.filmesapi.modules.reviews.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Posição da última review de uma página: o valor da ordem (data ou nota) e
+ * o id. Vai para o cliente como texto opaco em base64 e carrega a ordem, para
+ * que um cursor de uma ordem não seja usado em outra.
+ */
+class ReviewCursor {
+
+    private static final String SEPARADOR = "|";
+
+    // Antes da primeira página: maior que qualquer data ou nota gravada
+    private static final LocalDateTime DATA_INICIAL = LocalDateTime.of(9999, 12, 31, 23, 59);
+    private static final double NOTA_INICIAL = Double.MAX_VALUE;
+
+    final ReviewSort ordem;
+    final LocalDateTime data;
+    final double nota;
+    final long id;
+
+    private ReviewCursor(ReviewSort ordem, LocalDateTime data, double nota, long id) {
+        this.ordem = ordem;
+        this.data = data;
+        this.nota = nota;
+        this.id = id;
+    }
+
+    static ReviewCursor inicio(ReviewSort ordem) {
+        return new ReviewCursor(ordem, DATA_INICIAL, NOTA_INICIAL, Long.MAX_VALUE);
+    }
+
+    static ReviewCursor depoisDe(ReviewSort ordem, LocalDateTime data, double nota, long id) {
+        return new ReviewCursor(ordem, data, nota, id);
+    }
+
+    String codificar() {
+        String valor = ordem == ReviewSort.RECENTES ? data.toString() : Double.toString(nota);
+        String texto = ordem.getNome() + SEPARADOR + valor + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException se o cursor estiver malformado ou for
+     *         de outra ordem
+     */
+    static ReviewCursor decodificar(String cursor, ReviewSort ordem) {
+        if (cursor == null || cursor.isBlank()) {
+            return inicio(ordem);
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = texto.split("\\|", -1);
+            if (partes.length != 3 || ReviewSort.from(partes[0]) != ordem) {
+                throw new IllegalArgumentException("Cursor inválido para a ordem " + ordem.getNome());
+            }
+            long id = Long.parseLong(partes[2]);
+            return ordem == ReviewSort.RECENTES
+                    ? new ReviewCursor(ordem, LocalDateTime.parse(partes[1]), NOTA_INICIAL, id)
+                    : new ReviewCursor(ordem, DATA_INICIAL, Double.parseDouble(partes[1]), id);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
@@ -2,26 +2,34 @@ package com.filmesapi.modules.reviews.service;
 
 import com.filmesapi.modules.auth.model.Usuario;
 import com.filmesapi.modules.auth.repository.UsuarioRepository;
+import com.filmesapi.modules.reviews.dto.PaginaReviewsResponse;
 import com.filmesapi.modules.reviews.dto.ReviewRequest;
 import com.filmesapi.modules.reviews.dto.ReviewResponse;
+import com.filmesapi.modules.reviews.dto.ReviewStatsResponse;
 import com.filmesapi.modules.reviews.model.Review;
 import com.filmesapi.modules.reviews.repository.ReviewRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class ReviewService {
 
+    private static final int MAX_REVIEWS_PAGINA = 100;
+
     private final ReviewRepository reviewRepository;
     private final UsuarioRepository usuarioRepository;
+    private final ReviewStatsService statsService;
 
-    public ReviewService(ReviewRepository reviewRepository, UsuarioRepository usuarioRepository) {
+    public ReviewService(ReviewRepository reviewRepository, UsuarioRepository usuarioRepository,
+                         ReviewStatsService statsService) {
         this.reviewRepository = reviewRepository;
         this.usuarioRepository = usuarioRepository;
+        this.statsService = statsService;
     }
 
     @Transactional
@@ -36,8 +44,10 @@ public class ReviewService {
         Optional<Review> existingReview = reviewRepository.findByUsuarioIdAndTmdbId(usuarioId, request.tmdbId);
 
         Review review;
+        Double notaAnterior = null;
         if (existingReview.isPresent()) {
             review = existingReview.get();
+            notaAnterior = review.nota;
             review.nota = request.nota;
             review.comentario = request.comentario;
             review.tituloFilme = request.tituloFilme;
@@ -51,19 +61,78 @@ public class ReviewService {
         }
 
         Review savedReview = reviewRepository.save(review);
+        statsService.apply(request.tmdbId, notaAnterior, request.nota);
         return toResponse(savedReview);
     }
 
+    public String getMovieReviewsEtag(Long tmdbId) {
+        return "W/\"reviews-filme-" + tmdbId + "-" + reviewRepository.versaoDoFilme(tmdbId) + "\"";
+    }
+
+    public String getUserReviewsEtag(Long usuarioId) {
+        return "W/\"reviews-usuario-" + usuarioId + "-" + reviewRepository.versaoDoUsuario(usuarioId) + "\"";
+    }
+
+    public ReviewStatsResponse getMovieStats(Long tmdbId) {
+        return statsService.getStats(tmdbId);
+    }
+
+    public List<ReviewStatsResponse> getMoviesStats(List<Long> tmdbIds) {
+        return statsService.getStats(tmdbIds);
+    }
+
     public List<ReviewResponse> getReviewsByMovie(Long tmdbId) {
-        return reviewRepository.findByTmdbId(tmdbId).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return reviewRepository.findResponsesByTmdbId(tmdbId);
     }
 
     public List<ReviewResponse> getReviewsByUser(Long usuarioId) {
-        return reviewRepository.findByUsuarioId(usuarioId).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return reviewRepository.findResponsesByUsuarioId(usuarioId);
+    }
+
+    /**
+     * Página de reviews do filme a partir do cursor da página anterior.
+     *
+     * @throws IllegalArgumentException se a ordem ou o cursor forem inválidos
+     */
+    public PaginaReviewsResponse getMovieReviewsPage(Long tmdbId, String ordem, String cursor, int limite) {
+        ReviewSort sort = ReviewSort.from(ordem);
+        ReviewCursor posicao = ReviewCursor.decodificar(cursor, sort);
+        int tamanho = tamanhoPagina(limite);
+        // Um a mais para saber se existe próxima página sem precisar contar
+        List<ReviewResponse> reviews = sort == ReviewSort.RECENTES
+                ? reviewRepository.findPageByTmdbIdAfterDate(tmdbId, posicao.data, posicao.id, Limit.of(tamanho + 1))
+                : reviewRepository.findPageByTmdbIdAfterRating(tmdbId, posicao.nota, posicao.id, Limit.of(tamanho + 1));
+        return toPage(reviews, sort, tamanho);
+    }
+
+    /**
+     * Página de reviews do usuário a partir do cursor da página anterior.
+     *
+     * @throws IllegalArgumentException se a ordem ou o cursor forem inválidos
+     */
+    public PaginaReviewsResponse getUserReviewsPage(Long usuarioId, String ordem, String cursor, int limite) {
+        ReviewSort sort = ReviewSort.from(ordem);
+        ReviewCursor posicao = ReviewCursor.decodificar(cursor, sort);
+        int tamanho = tamanhoPagina(limite);
+        List<ReviewResponse> reviews = sort == ReviewSort.RECENTES
+                ? reviewRepository.findPageByUsuarioIdAfterDate(usuarioId, posicao.data, posicao.id, Limit.of(tamanho + 1))
+                : reviewRepository.findPageByUsuarioIdAfterRating(usuarioId, posicao.nota, posicao.id, Limit.of(tamanho + 1));
+        return toPage(reviews, sort, tamanho);
+    }
+
+    private int tamanhoPagina(int limite) {
+        return Math.max(1, Math.min(limite, MAX_REVIEWS_PAGINA));
+    }
+
+    private PaginaReviewsResponse toPage(List<ReviewResponse> reviews, ReviewSort sort, int tamanho) {
+        if (reviews.size() <= tamanho) {
+            return new PaginaReviewsResponse(reviews, null);
+        }
+        List<ReviewResponse> pagina = reviews.subList(0, tamanho);
+        ReviewResponse ultima = pagina.get(tamanho - 1);
+        String proximo = ReviewCursor.depoisDe(sort, ultima.dataCriacao,
+                ReviewStatsService.normalizar(ultima.nota), ultima.id).codificar();
+        return new PaginaReviewsResponse(new ArrayList<>(pagina), proximo);
     }
 
     @Transactional
@@ -81,9 +150,11 @@ public class ReviewService {
         }
 
         reviewRepository.delete(review);
+        statsService.apply(review.tmdbId, review.nota, null);
     }
 
-    private ReviewResponse toResponse(Review review) {
+    // Medido por ReviewServiceBenchmark
+    ReviewResponse toResponse(Review review) {
         Usuario usuario = review.usuario;
         String nomeUsuario = usuario.getNome() != null ? usuario.getNome() : usuario.getEmail();
         return new ReviewResponse(
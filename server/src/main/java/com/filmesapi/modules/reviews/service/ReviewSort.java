@@ -0,0 +1,34 @@
+package com.filmesapi.modules.reviews.service;
+
+import java.util.Arrays;
+
+/**
+ * Ordens das páginas de reviews. As duas desempatam pelo id, do maior para o
+ * menor, para que o cursor aponte sempre para uma posição única.
+ */
+public enum ReviewSort {
+    // Mais recentes primeiro
+    RECENTES("recentes"),
+    // Maiores notas primeiro, na escala de 5 estrelas
+    NOTA("nota");
+
+    private final String nome;
+
+    ReviewSort(String nome) {
+        this.nome = nome;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public static ReviewSort from(String nome) {
+        if (nome == null || nome.isBlank()) {
+            return RECENTES;
+        }
+        return Arrays.stream(values())
+                .filter(ordem -> ordem.nome.equalsIgnoreCase(nome))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Ordem inválida: " + nome));
+    }
+}
@@ -0,0 +1,173 @@
+package com.filmesapi.modules.reviews.service;
+
+import com.filmesapi.modules.reviews.dto.ReviewStatsResponse;
+import com.filmesapi.modules.reviews.model.Review;
+import com.filmesapi.modules.reviews.model.ReviewStats;
+import com.filmesapi.modules.reviews.repository.ReviewRepository;
+import com.filmesapi.modules.reviews.repository.ReviewStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém a contagem, a soma e o histograma das notas de cada filme. As notas
+ * entram na escala de 5 estrelas que o cliente exibe (acima de 5 vale a
+ * metade), então a média sai na mesma escala.
+ */
+@Service
+public class ReviewStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewStatsService.class);
+    private static final int PAGINA_RECONSTRUCAO = 1000;
+
+    private final ReviewStatsRepository statsRepository;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate novaTransacao;
+
+    public ReviewStatsService(ReviewStatsRepository statsRepository, ReviewRepository reviewRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.reviewRepository = reviewRepository;
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Troca a nota anterior pela nova nas estatísticas do filme, dentro da
+     * transação de quem alterou a review. {@code null} em um dos lados é
+     * review criada ou removida.
+     */
+    @Transactional
+    public void apply(Long tmdbId, Double notaAnterior, Double notaNova) {
+        if (Objects.equals(notaAnterior, notaNova)) {
+            return;
+        }
+        garantirLinha(tmdbId);
+        ReviewStats stats = statsRepository.findForUpdate(tmdbId)
+                .orElseThrow(() -> new IllegalStateException("Estatísticas do filme " + tmdbId + " não encontradas"));
+        int[] histograma = stats.histograma.clone();
+        if (notaAnterior != null) {
+            double nota = normalizar(notaAnterior);
+            stats.total--;
+            stats.soma -= nota;
+            histograma[faixa(nota)]--;
+        }
+        if (notaNova != null) {
+            double nota = normalizar(notaNova);
+            stats.total++;
+            stats.soma += nota;
+            histograma[faixa(nota)]++;
+        }
+        // Array novo para o Hibernate perceber a alteração
+        stats.histograma = histograma;
+        if (stats.total == 0) {
+            // Evita acumular erro de ponto flutuante depois que todas as reviews saem
+            stats.soma = 0;
+        }
+    }
+
+    public ReviewStatsResponse getStats(Long tmdbId) {
+        return statsRepository.findById(tmdbId)
+                .map(this::toResponse)
+                .orElseGet(() -> vazio(tmdbId));
+    }
+
+    /**
+     * Estatísticas de vários filmes em uma consulta, na ordem pedida. Filmes
+     * sem review voltam zerados.
+     */
+    public List<ReviewStatsResponse> getStats(Collection<Long> tmdbIds) {
+        Map<Long, ReviewStats> encontrados = statsRepository.findByTmdbIdIn(tmdbIds).stream()
+                .collect(Collectors.toMap(stats -> stats.tmdbId, Function.identity()));
+        return tmdbIds.stream()
+                .distinct()
+                .map(tmdbId -> {
+                    ReviewStats stats = encontrados.get(tmdbId);
+                    return stats != null ? toResponse(stats) : vazio(tmdbId);
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Preenche a tabela a partir das reviews existentes quando ela ainda está
+     * vazia (primeira subida depois da migração).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        novaTransacao.executeWithoutResult(status -> {
+            if (statsRepository.count() > 0 || reviewRepository.count() == 0) {
+                return;
+            }
+            Map<Long, ReviewStats> porFilme = new LinkedHashMap<>();
+            long ultimoId = 0;
+            List<Review> pagina;
+            do {
+                pagina = reviewRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, Limit.of(PAGINA_RECONSTRUCAO));
+                for (Review review : pagina) {
+                    ultimoId = review.id;
+                    if (review.nota == null) {
+                        continue;
+                    }
+                    ReviewStats stats = porFilme.computeIfAbsent(review.tmdbId, ReviewStats::new);
+                    double nota = normalizar(review.nota);
+                    stats.total++;
+                    stats.soma += nota;
+                    stats.histograma[faixa(nota)]++;
+                }
+            } while (pagina.size() == PAGINA_RECONSTRUCAO);
+            statsRepository.saveAll(porFilme.values());
+            log.info("Estatísticas de reviews reconstruídas para {} filmes", porFilme.size());
+        });
+    }
+
+    // A linha é criada em transação própria: se outra requisição criar a mesma
+    // linha ao mesmo tempo, só a chave duplicada falha e a atualização segue
+    private void garantirLinha(Long tmdbId) {
+        if (statsRepository.existsById(tmdbId)) {
+            return;
+        }
+        try {
+            novaTransacao.executeWithoutResult(status -> statsRepository.saveAndFlush(new ReviewStats(tmdbId)));
+        } catch (DataIntegrityViolationException e) {
+            // Criada por outra transação
+        }
+    }
+
+    private ReviewStatsResponse toResponse(ReviewStats stats) {
+        Double media = stats.total > 0 ? Math.round(stats.soma / stats.total * 100) / 100.0 : null;
+        return new ReviewStatsResponse(stats.tmdbId, stats.total, media, stats.histograma.clone());
+    }
+
+    private ReviewStatsResponse vazio(Long tmdbId) {
+        return new ReviewStatsResponse(tmdbId, 0, null, new int[ReviewStats.FAIXAS]);
+    }
+
+    // Mesma regra do cliente (toFiveStarScale): notas acima de 5 estão na escala de 10
+    static double normalizar(double nota) {
+        double positiva = Math.max(0, nota);
+        return positiva > 5 ? positiva / 2 : positiva;
+    }
+
+    // 0.5 cai na faixa 0, 1.0 na faixa 1, ..., 5.0 na faixa 9; valores
+    // intermediários sobem para a meia estrela seguinte
+    static int faixa(double nota) {
+        int faixa = (int) Math.ceil(nota * 2) - 1;
+        return Math.max(0, Math.min(ReviewStats.FAIXAS - 1, faixa));
+    }
+}
@@ -0,0 +1,110 @@
+package com.filmesapi.config;
+
+import com.filmesapi.modules.dashboard.model.Lista;
+import com.filmesapi.modules.dashboard.model.ListaFilme;
+import com.filmesapi.modules.dashboard.repository.ListaRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Com {@code sql.orcamento.falhar=true} (application.properties de teste), uma
+ * rota que carrega os filmes lista a lista estoura o orçamento e falha, enquanto
+ * o resumo, que agrega as listas em poucas consultas, passa com os mesmos dados.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(OrcamentoSqlTest.ListasNMaisUmController.class)
+class OrcamentoSqlTest {
+
+    private static final long USUARIO_ID = 4242L;
+    private static final int LISTAS = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ListaRepository listaRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void criarListas() {
+        List<Lista> listas = new ArrayList<>();
+        for (int i = 0; i < LISTAS; i++) {
+            Lista lista = new Lista();
+            lista.setNome("Lista " + i);
+            lista.setUsuarioId(USUARIO_ID);
+
+            ListaFilme filme = new ListaFilme();
+            filme.setLista(lista);
+            filme.setTmdbId(1000L + i);
+            filme.setTitulo("Filme " + i);
+            lista.getFilmes().add(filme);
+            listas.add(lista);
+        }
+        listaRepository.saveAll(listas);
+    }
+
+    @AfterEach
+    void removerListas() {
+        listaRepository.deleteAll(listaRepository.findByUsuarioIdOrderByDataCriacaoDesc(USUARIO_ID));
+    }
+
+    @Test
+    void rotaComNMaisUmEstouraOrcamento() {
+        OrcamentoSqlExcedidoException erro = assertThrows(OrcamentoSqlExcedidoException.class,
+                () -> mockMvc.perform(get("/api/teste/listas/{usuarioId}/quantidades", USUARIO_ID)));
+
+        assertThat(erro.getMessage()).contains("/api/teste/listas/{usuarioId}/quantidades");
+        // A requisição reprovada também é registrada na métrica
+        DistributionSummary instrucoes = registry.get(MetricasSqlFilter.METRICA)
+                .tag("uri", "/api/teste/listas/{usuarioId}/quantidades")
+                .summary();
+        assertThat(instrucoes.count()).isEqualTo(1);
+        assertThat(instrucoes.max()).isGreaterThan(LISTAS);
+    }
+
+    @Test
+    void resumoDasListasCabeNoOrcamento() throws Exception {
+        mockMvc.perform(get("/api/listas/usuario/{usuarioId}/resumo", USUARIO_ID))
+                .andExpect(status().isOk());
+    }
+
+    // Uma consulta para as listas e mais uma por lista ao tocar na coleção preguiçosa de filmes
+    @RestController
+    static class ListasNMaisUmController {
+
+        private final ListaRepository listaRepository;
+
+        ListasNMaisUmController(ListaRepository listaRepository) {
+            this.listaRepository = listaRepository;
+        }
+
+        @GetMapping("/api/teste/listas/{usuarioId}/quantidades")
+        List<Integer> quantidades(@PathVariable Long usuarioId) {
+            return listaRepository.findByUsuarioIdOrderByDataCriacaoDesc(usuarioId).stream()
+                    .map(lista -> lista.getFilmes().size())
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- Catálogo local do servidor Java: espelho das listas populares, em alta e em cartaz do TMDB
+CREATE TABLE IF NOT EXISTS catalogo_filmes (
+  tmdb_id BIGINT PRIMARY KEY,
+  titulo VARCHAR(255) NOT NULL,
+  titulo_original VARCHAR(255),
+  poster_path VARCHAR(255),
+  backdrop_path VARCHAR(255),
+  data_lancamento VARCHAR(10),
+  nota_media FLOAT8,
+  popularidade FLOAT8,
+  genero_ids VARCHAR(255),
+  posicao_popular INT,
+  posicao_trending INT,
+  posicao_now_playing INT,
+  atualizado_em TIMESTAMP
+);
+
+-- Cada lista é lida por faixa de posição
+CREATE INDEX IF NOT EXISTS idx_catalogo_posicao_popular ON catalogo_filmes(posicao_popular);
+CREATE INDEX IF NOT EXISTS idx_catalogo_posicao_trending ON catalogo_filmes(posicao_trending);
+CREATE INDEX IF NOT EXISTS idx_catalogo_posicao_now_playing ON catalogo_filmes(posicao_now_playing);
+
+COMMENT ON TABLE catalogo_filmes IS 'Filmes sincronizados do TMDB pelo servidor (CatalogoSyncService)';
+COMMENT ON COLUMN catalogo_filmes.posicao_popular IS 'Posição na lista de populares; nula quando o filme saiu dela';
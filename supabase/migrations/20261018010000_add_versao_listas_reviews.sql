@@ -0,0 +1,6 @@
+-- Contadores de versão usados nas ETags de GET /api/listas e GET /api/reviews
+ALTER TABLE IF EXISTS listas ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE IF EXISTS reviews ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN listas.versao IS 'Incrementada a cada alteração da lista ou dos seus filmes';
+COMMENT ON COLUMN reviews.versao IS 'Incrementada a cada edição da review';
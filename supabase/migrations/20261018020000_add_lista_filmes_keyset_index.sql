@@ -0,0 +1,3 @@
+-- Paginação por chave dos filmes de uma lista (GET /api/listas/usuario/{id}/lista/{listaId}/filmes?after=)
+-- e pôsteres mais recentes por lista no resumo
+CREATE INDEX IF NOT EXISTS idx_lista_filmes_lista_id_id ON lista_filmes(lista_id, id);
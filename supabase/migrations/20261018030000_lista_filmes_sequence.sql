@@ -0,0 +1,15 @@
+-- Ids de lista_filmes passam a vir de uma sequência com incremento 50 (allocationSize do
+-- Hibernate), o que permite agrupar os inserts das operações em massa em lotes JDBC
+CREATE SEQUENCE IF NOT EXISTS lista_filmes_seq INCREMENT BY 50;
+
+-- O otimizador pooled do Hibernate trata o valor de nextval como o topo de um bloco:
+-- nextval = N entrega os ids N-49 até N. Com MAX(id) + 50 o próximo nextval devolve
+-- MAX(id) + 100 e o primeiro bloco começa acima do maior id existente
+SELECT setval('lista_filmes_seq', COALESCE((SELECT MAX(id) FROM lista_filmes), 0) + 50);
+
+-- Inserts sem id (o cliente grava direto no Supabase) também saem da nova sequência: cada
+-- nextval reserva um bloco inteiro, então o valor usado pelo cliente nunca cai em um bloco
+-- entregue ao Hibernate. A sequência do BIGSERIAL antigo deixa de ser usada
+ALTER TABLE lista_filmes ALTER COLUMN id SET DEFAULT nextval('lista_filmes_seq');
+ALTER SEQUENCE lista_filmes_seq OWNED BY lista_filmes.id;
+DROP SEQUENCE IF EXISTS lista_filmes_id_seq;
@@ -0,0 +1,11 @@
+-- Estatísticas das reviews por filme, atualizadas pelo servidor a cada review
+-- criada, editada ou removida (GET /api/reviews/filme/{tmdbId}/stats)
+CREATE TABLE IF NOT EXISTS review_stats (
+  tmdb_id BIGINT PRIMARY KEY,
+  total BIGINT NOT NULL DEFAULT 0,
+  soma DOUBLE PRECISION NOT NULL DEFAULT 0,
+  histograma INTEGER[] NOT NULL DEFAULT ARRAY[0,0,0,0,0,0,0,0,0,0]
+);
+
+COMMENT ON COLUMN review_stats.soma IS 'Soma das notas na escala de 5 estrelas';
+COMMENT ON COLUMN review_stats.histograma IS 'Reviews por meia estrela, de 0.5 (posição 1) a 5.0 (posição 10)';
@@ -0,0 +1,4 @@
+-- Páginas de reviews por filme e por usuário, das mais recentes para as mais antigas
+-- (GET /api/reviews/filme/{tmdbId}/pagina e /api/reviews/usuario/{id}/pagina)
+CREATE INDEX IF NOT EXISTS idx_reviews_tmdb_id_data ON reviews(tmdb_id, data_criacao, id);
+CREATE INDEX IF NOT EXISTS idx_reviews_usuario_id_data ON reviews(usuario_id, data_criacao, id);